@@ -0,0 +1,35 @@
+package com.moenghae.apigatewayservice.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.concurrent.TimeUnit;
+
+// GlobalFilter -> AuthorizationHeaderFilter 체인의 요청당 처리량과 할당량.
+// ./gradlew jmh (build.gradle 에서 gc 프로파일러 사용, gc.alloc.rate.norm 이 요청당 할당 byte)
+// exchange 생성 비용은 exchangeOnly 로 따로 재서 비교한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FilterChainBenchmark {
+
+    @Param({"PUBLIC", "ACCESS", "REFRESH", "BLACKLISTED"})
+    private FilterChainFixture.Scenario scenario;
+
+    private FilterChainFixture fixture;
+
+    @Setup
+    public void setup() {
+        fixture = new FilterChainFixture();
+    }
+
+    @Benchmark
+    public boolean filterChain() {
+        return fixture.run(fixture.exchange(scenario));
+    }
+
+    @Benchmark
+    public ServerWebExchange exchangeOnly() {
+        return fixture.exchange(scenario);
+    }
+}
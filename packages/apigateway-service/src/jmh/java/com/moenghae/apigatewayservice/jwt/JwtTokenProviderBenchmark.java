@@ -0,0 +1,62 @@
+package com.moenghae.apigatewayservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// 요청마다 키/파서를 만들던 기존 방식(cold)과 캐시된 검증(cached)을 비교한다.
+// ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "meonghae-benchmark-secret-key-must-be-long-enough-for-hs256";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String encodedSecret;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        jwtTokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenValidTime", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenValidTime", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(jwtTokenProvider, "claimsCacheMaximumSize", 10_000L);
+        jwtTokenProvider.init();
+
+        encodedSecret = Base64.getEncoder().encodeToString(SECRET.getBytes());
+        accessToken = jwtTokenProvider.createAccessToken("benchmark@meonghae.site", "USER");
+    }
+
+    // 변경 전 validateToken 과 같은 경로: 매번 키와 파서를 새로 생성
+    @Benchmark
+    public Claims cold() {
+        Key key = Keys.hmacShaKeyFor(encodedSecret.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody();
+    }
+
+    // 미리 만든 파서로 매번 HMAC 검증 (캐시 miss 경로)
+    @Benchmark
+    public Claims prebuiltParser() {
+        return jwtTokenProvider.parse(accessToken);
+    }
+
+    // 캐시 hit 경로
+    @Benchmark
+    public Claims cached() {
+        return jwtTokenProvider.getClaims(accessToken);
+    }
+}
@@ -0,0 +1,91 @@
+package com.moenghae.apigatewayservice.accesslog;
+
+import com.moenghae.apigatewayservice.config.AuthorizationHeaderFilter;
+import io.jsonwebtoken.Claims;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// 요청이 끝날 때 필요한 값만 링 버퍼에 넣고, 문자열 포맷과 출력은 AccessLogWriter 스레드가 한다.
+// 라우트별 비율로 샘플링하되 5xx, 예외, 느린 요청은 항상 남긴다.
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    private final AccessLogProperties properties;
+    private final AccessLogWriter writer;
+
+    public AccessLogFilter(AccessLogProperties properties, AccessLogWriter writer) {
+        this.properties = properties;
+        this.writer = writer;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        ByteCountingResponse response = new ByteCountingResponse(exchange.getResponse());
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> log(exchange, response, signal, System.nanoTime() - start));
+    }
+
+    private void log(ServerWebExchange exchange, ByteCountingResponse response, SignalType signal, long nanos) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route == null ? "none" : route.getId();
+        HttpStatus status = response.getStatusCode();
+        int statusCode = signal == SignalType.ON_ERROR ? 0 : status == null ? 200 : status.value();
+
+        boolean always = statusCode == 0 || statusCode >= 500 || nanos >= properties.getSlowThreshold().toNanos();
+        if (!always && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate(routeId)) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Claims claims = exchange.getAttribute(AuthorizationHeaderFilter.VERIFIED_CLAIMS_ATTR);
+        writer.append(System.currentTimeMillis(), request.getId(), routeId, request.getMethodValue(),
+                request.getPath().value(), statusCode, nanos / 1000, response.bytes,
+                claims == null ? null : claims.getSubject());
+    }
+
+    // 클라이언트로 내보낸 본문 크기 집계
+    private static class ByteCountingResponse extends ServerHttpResponseDecorator {
+        private long bytes;
+
+        ByteCountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes += buffer.readableByteCount()));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(part -> Flux.from(part).doOnNext(buffer -> bytes += buffer.readableByteCount())));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.moenghae.apigatewayservice.accesslog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// gateway.access-log.* 설정
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    // 링 버퍼 크기 (2의 거듭제곱으로 올림), 가득 차면 기록을 버리고 dropped 로 센다
+    private int bufferSize = 8192;
+
+    // 라우트 설정이 없을 때의 샘플링 비율 (0 ~ 1)
+    private double defaultSampleRate = 0.1;
+
+    // 라우트 id 별 샘플링 비율
+    private Map<String, Double> routes = new HashMap<>();
+
+    // 이보다 느린 요청과 5xx 응답은 샘플링과 관계없이 항상 기록
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    // 버퍼가 비어 있을 때 기록 스레드가 쉬는 시간
+    private Duration drainInterval = Duration.ofMillis(20);
+
+    public double getSampleRate(String routeId) {
+        return routes.getOrDefault(routeId, defaultSampleRate);
+    }
+}
@@ -0,0 +1,23 @@
+package com.moenghae.apigatewayservice.accesslog;
+
+// 링 버퍼 슬롯, 미리 만들어 두고 재사용한다
+final class AccessLogRecord {
+    long timestamp;
+    String requestId;
+    String routeId;
+    String method;
+    String path;
+    int status;
+    long latencyMicros;
+    long bytes;
+    // 기록 스레드에서 해시로 바꿔서 남긴다
+    String user;
+
+    void clear() {
+        requestId = null;
+        routeId = null;
+        method = null;
+        path = null;
+        user = null;
+    }
+}
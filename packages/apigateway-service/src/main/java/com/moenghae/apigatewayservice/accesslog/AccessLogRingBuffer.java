@@ -0,0 +1,83 @@
+package com.moenghae.apigatewayservice.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// 여러 이벤트 루프 스레드가 쓰고 기록 스레드 하나가 읽는 lock-free 링 버퍼.
+// 슬롯은 미리 할당해 재사용하고, 가득 차면 기다리지 않고 버린다.
+final class AccessLogRingBuffer {
+
+    private final AccessLogRecord[] slots;
+    // 슬롯마다 마지막으로 채워진 시퀀스 번호, 읽는 쪽은 이 값으로 쓰기 완료를 확인한다
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AccessLogRecord[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccessLogRecord();
+            published.set(i, -1);
+        }
+    }
+
+    boolean offer(long timestamp, String requestId, String routeId, String method, String path,
+                  int status, long latencyMicros, long bytes, String user) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        AccessLogRecord record = slots[index];
+        record.timestamp = timestamp;
+        record.requestId = requestId;
+        record.routeId = routeId;
+        record.method = method;
+        record.path = path;
+        record.status = status;
+        record.latencyMicros = latencyMicros;
+        record.bytes = bytes;
+        record.user = user;
+        published.lazySet(index, sequence);
+        return true;
+    }
+
+    // 기록 스레드 전용
+    int drain(Consumer<AccessLogRecord> consumer, int limit) {
+        long current = head.get();
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (current & mask);
+            if (published.get(index) != current) {
+                break;
+            }
+            AccessLogRecord record = slots[index];
+            consumer.accept(record);
+            record.clear();
+            current++;
+            drained++;
+        }
+        head.lazySet(current);
+        return drained;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,137 @@
+package com.moenghae.apigatewayservice.accesslog;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 링 버퍼를 비우면서 한 줄짜리 JSON 으로 ACCESS_LOG 로거에 기록한다.
+// 출력 위치(stdout / rolling file)는 logback-spring.xml 에서 정한다.
+@Component
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final int DRAIN_BATCH = 512;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final AccessLogProperties properties;
+    private final AccessLogRingBuffer buffer;
+    private final LongAdder written = new LongAdder();
+    private final StringBuilder line = new StringBuilder(256);
+    private final MessageDigest sha256;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffer = new AccessLogRingBuffer(properties.getBufferSize());
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        FunctionCounter.builder("gateway.accesslog.dropped", buffer, AccessLogRingBuffer::dropped)
+                .description("Access log records dropped because the ring buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.accesslog.written", written, LongAdder::sum)
+                .description("Access log records written")
+                .register(meterRegistry);
+        Gauge.builder("gateway.accesslog.buffer.capacity", buffer, AccessLogRingBuffer::capacity)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::drainLoop, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // 이벤트 루프에서 호출, 버퍼가 가득 차면 false
+    public boolean append(long timestamp, String requestId, String routeId, String method, String path,
+                          int status, long latencyMicros, long bytes, String user) {
+        return buffer.offer(timestamp, requestId, routeId, method, path, status, latencyMicros, bytes, user);
+    }
+
+    private void drainLoop() {
+        long idleNanos = properties.getDrainInterval().toNanos();
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) == 0) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        // 종료 전 남은 기록 정리
+        while (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+            // drain
+        }
+    }
+
+    private void write(AccessLogRecord record) {
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(record.timestamp)).append('"');
+        field("requestId", record.requestId);
+        field("route", record.routeId);
+        field("method", record.method);
+        field("path", record.path);
+        line.append(",\"status\":").append(record.status);
+        line.append(",\"latencyMs\":").append(record.latencyMicros / 1000).append('.')
+                .append(String.format("%03d", record.latencyMicros % 1000));
+        line.append(",\"bytes\":").append(record.bytes);
+        field("user", record.user == null ? null : userHash(record.user));
+        line.append('}');
+        ACCESS_LOG.info(line.toString());
+        written.increment();
+    }
+
+    private void field(String name, String value) {
+        line.append(",\"").append(name).append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    // email 원문 대신 SHA-256 앞 8byte 만 남긴다
+    private String userHash(String user) {
+        byte[] hash = sha256.digest(user.getBytes(StandardCharsets.UTF_8));
+        char[] out = new char[16];
+        for (int i = 0; i < 8; i++) {
+            out[i * 2] = HEX[(hash[i] >> 4) & 0xf];
+            out[i * 2 + 1] = HEX[hash[i] & 0xf];
+        }
+        return new String(out);
+    }
+}
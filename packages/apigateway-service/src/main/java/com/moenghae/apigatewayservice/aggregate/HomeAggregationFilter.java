@@ -0,0 +1,155 @@
+package com.moenghae.apigatewayservice.aggregate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 앱 시작 시 순서대로 호출하던 홈 화면 API 들을 게이트웨이에서 동시에 호출해 하나의 JSON 으로 묶는다.
+// AuthorizationHeaderFilter 뒤에 등록해서 서명된 사용자 헤더를 그대로 하위 서비스에 전달한다.
+// 일부 호출이 실패하거나 시간 초과되면 그 부분만 ok=false 로 표시하고 partial=true 로 응답한다.
+@Slf4j
+@Component
+public class HomeAggregationFilter extends AbstractGatewayFilterFactory<HomeAggregationFilter.Config> {
+
+    private final HomeAggregationProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+
+    public HomeAggregationFilter(HomeAggregationProperties properties, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry, WebClient.Builder loadBalancedWebClientBuilder) {
+        super(Config.class);
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.webClient = loadBalancedWebClientBuilder.build();
+    }
+
+    public static class Config {}
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            return Flux.fromIterable(properties.getParts())
+                    .flatMapSequential(part -> call(part, request.getHeaders()))
+                    .collectList()
+                    .flatMap(results -> {
+                        ObjectNode body = objectMapper.createObjectNode();
+                        ObjectNode parts = body.putObject("parts");
+                        boolean partial = false;
+                        for (PartResult result : results) {
+                            parts.set(result.name, result.node);
+                            partial |= !result.ok;
+                        }
+                        body.put("partial", partial);
+                        return write(exchange.getResponse(), body);
+                    });
+        });
+    }
+
+    private Mono<PartResult> call(HomeAggregationProperties.Part part, HttpHeaders requestHeaders) {
+        // lb://SERVICE 는 load-balanced WebClient 가 http://SERVICE 로 해석한다
+        URI target = UriComponentsBuilder.fromUri(part.getUri()).scheme("http").build(true).toUri();
+        long start = System.nanoTime();
+        return webClient.get()
+                .uri(target)
+                .headers(headers -> {
+                    headers.addAll(requestHeaders);
+                    headers.remove(HttpHeaders.HOST);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.ACCEPT_ENCODING);
+                    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                })
+                .exchangeToMono(response -> {
+                    int status = response.rawStatusCode();
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.releaseBody()
+                                .thenReturn(failure(part.getName(), "status", status));
+                    }
+                    return response.bodyToMono(JsonNode.class)
+                            .defaultIfEmpty(objectMapper.nullNode())
+                            .map(data -> success(part.getName(), status, data));
+                })
+                .timeout(part.getTimeout())
+                .onErrorResume(e -> {
+                    boolean timeout = e instanceof TimeoutException;
+                    if (!timeout) {
+                        log.debug("Home aggregation part {} failed : {}", part.getName(), e.getMessage());
+                    }
+                    return Mono.just(failure(part.getName(), timeout ? "timeout" : "error", null));
+                })
+                .doOnNext(result -> Timer.builder("gateway.home.parts")
+                        .description("Latency of each home aggregation part")
+                        .tag("part", part.getName())
+                        .tag("outcome", result.outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private PartResult success(String name, int status, JsonNode data) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("ok", true);
+        node.put("status", status);
+        node.set("data", data);
+        return new PartResult(name, true, "ok", node);
+    }
+
+    private PartResult failure(String name, String error, Integer status) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("ok", false);
+        node.put("error", error);
+        if (status != null) {
+            node.put("status", status);
+        }
+        return new PartResult(name, false, error, node);
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, ObjectNode body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(bytes.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    private static class PartResult {
+        private final String name;
+        private final boolean ok;
+        private final String outcome;
+        private final JsonNode node;
+
+        PartResult(String name, boolean ok, String outcome, JsonNode node) {
+            this.name = name;
+            this.ok = ok;
+            this.outcome = outcome;
+            this.node = node;
+        }
+    }
+}
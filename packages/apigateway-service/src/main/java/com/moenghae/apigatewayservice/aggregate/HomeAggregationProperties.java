@@ -0,0 +1,32 @@
+package com.moenghae.apigatewayservice.aggregate;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// gateway.home.* 설정, 홈 화면 응답을 구성하는 하위 서비스 호출 목록
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.home")
+public class HomeAggregationProperties {
+
+    private List<Part> parts = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Part {
+        // 응답 JSON 에서 사용할 이름
+        private String name;
+        // lb://SERVICE/path
+        private URI uri;
+        // 이 시간이 지나면 해당 부분만 timeout 으로 표시
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+}
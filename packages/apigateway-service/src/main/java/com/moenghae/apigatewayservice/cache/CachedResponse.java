@@ -0,0 +1,28 @@
+package com.moenghae.apigatewayservice.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 게이트웨이 응답 캐시 항목, Redis 에는 JSON 으로 저장된다 (body 는 base64)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedResponse {
+
+    private int status;
+    private String contentType;
+    private byte[] body;
+    // 이 시각까지는 신선한 응답
+    private long freshUntil;
+    // 이 시각까지는 재검증하면서 이전 응답을 내보낼 수 있다
+    private long staleUntil;
+
+    public boolean isFresh(long now) {
+        return now <= freshUntil;
+    }
+
+    public boolean isUsable(long now) {
+        return now <= staleUntil;
+    }
+}
@@ -0,0 +1,118 @@
+package com.moenghae.apigatewayservice.cache;
+
+import com.moenghae.apigatewayservice.metrics.OutcomeCounters;
+import com.moenghae.apigatewayservice.support.CapturingResponseDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// JSON GET 응답에 강한 ETag 를 붙이고, If-None-Match 가 일치하면 본문 없이 304 로 응답한다.
+// 하위 서비스가 ETag 를 직접 내려주면 그 값을 그대로 사용한다.
+@Component
+public class ETagFilter extends AbstractGatewayFilterFactory<ETagFilter.Config> {
+
+    private final OutcomeCounters<Result> counters;
+
+    public ETagFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.counters = new OutcomeCounters<>(meterRegistry, "gateway.etag.responses",
+                "JSON GET responses checked against If-None-Match", "route", Result.class,
+                result -> Tags.of("result", result.name().toLowerCase()));
+    }
+
+    @Data
+    public static class Config {
+        // 이보다 큰 응답은 ETag 계산 없이 그대로 전달
+        private int maxBodySize = 1024 * 1024;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            List<String> ifNoneMatch = ifNoneMatch(exchange.getRequest().getHeaders());
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "unknown" : route.getId();
+
+            CapturingResponseDecorator decorator = new CapturingResponseDecorator(exchange.getResponse(),
+                    CapturingResponseDecorator.jsonBodyUpTo(config.getMaxBodySize()),
+                    (response, body) -> {
+                        if (response.getStatusCode() != HttpStatus.OK) {
+                            return body;
+                        }
+                        String etag = response.getHeaders().getETag();
+                        if (etag == null) {
+                            etag = strongETag(body);
+                            response.getHeaders().setETag(etag);
+                        }
+                        if (matches(ifNoneMatch, etag)) {
+                            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                            response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                            counters.increment(routeId, Result.NOT_MODIFIED);
+                            return null;
+                        }
+                        counters.increment(routeId, Result.MODIFIED);
+                        return body;
+                    });
+            return chain.filter(exchange.mutate().response(decorator).build());
+        });
+    }
+
+    // 본문 SHA-256 앞 128bit 를 base64url 로
+    static String strongETag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> ifNoneMatch(HttpHeaders headers) {
+        try {
+            return headers.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return List.of(); // 형식이 잘못된 헤더는 무시
+        }
+    }
+
+    // If-None-Match 는 weak 비교 (W/ 접두사 무시)
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    enum Result {
+        NOT_MODIFIED,
+        MODIFIED
+    }
+}
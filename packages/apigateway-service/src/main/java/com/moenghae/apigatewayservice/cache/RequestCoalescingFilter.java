@@ -0,0 +1,203 @@
+package com.moenghae.apigatewayservice.cache;
+
+import com.moenghae.apigatewayservice.config.AuthorizationHeaderFilter;
+import com.moenghae.apigatewayservice.metrics.OutcomeCounters;
+import com.moenghae.apigatewayservice.support.CapturingResponseDecorator;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// 라우트 단위로 켜는 동일 GET 요청 병합.
+// 같은 키의 요청이 진행 중이면 하위 서비스를 다시 호출하지 않고 먼저 온 요청(leader)의 응답을 나눠 받는다.
+// leader 응답이 공유할 수 없는 경우(JSON 이 아님, 크기 초과, 오류)나 wait-timeout 이 지나면 각자 하위 서비스를 호출한다.
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    private static final String COALESCE_HEADER = "X-Gateway-Coalesced";
+    // 나눠 주지 않는 응답 헤더
+    private static final List<String> EXCLUDED_HEADERS = List.of(
+            HttpHeaders.SET_COOKIE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION);
+
+    private final OutcomeCounters<Result> counters;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.counters = new OutcomeCounters<>(meterRegistry, "gateway.coalesce.requests",
+                "GET requests handled by the gateway request coalescer", "route", Result.class,
+                result -> Tags.of("result", result.name().toLowerCase()));
+    }
+
+    @Data
+    public static class Config {
+        // 키에 포함하는 요청 헤더 (메서드, 경로, 쿼리는 항상 포함)
+        private List<String> keyHeaders = new ArrayList<>(List.of(
+                HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.ACCEPT_ENCODING));
+        // 사용자마다 응답이 다른 라우트는 true (좋아요 여부 등)
+        private boolean keyIncludesUser = true;
+        // leader 응답을 기다리는 최대 시간
+        private Duration waitTimeout = Duration.ofSeconds(3);
+        // 한 키에서 기다릴 수 있는 최대 요청 수, 넘으면 각자 호출
+        private int maxWaiters = 500;
+        // 이보다 큰 응답은 나눠 주지 않는다
+        private int maxBodySize = 256 * 1024;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "unknown" : route.getId();
+            String key = coalescingKey(exchange, routeId, config);
+            if (key == null) {
+                return chain.filter(exchange);
+            }
+
+            InFlight created = new InFlight();
+            InFlight existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                counters.increment(routeId, Result.LEADER);
+                return lead(exchange, chain, key, created, config);
+            }
+            if (existing.waiters.incrementAndGet() > config.getMaxWaiters()) {
+                existing.waiters.decrementAndGet();
+                counters.increment(routeId, Result.BYPASS);
+                return chain.filter(exchange);
+            }
+            return existing.sink.asMono()
+                    .timeout(config.getWaitTimeout(), Mono.just(Optional.empty()))
+                    .doFinally(signal -> existing.waiters.decrementAndGet())
+                    .flatMap(shared -> {
+                        if (shared.isEmpty()) {
+                            counters.increment(routeId, Result.FALLBACK);
+                            return chain.filter(exchange);
+                        }
+                        counters.increment(routeId, Result.COALESCED);
+                        return write(exchange, shared.get());
+                    });
+        });
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, InFlight entry,
+                            Config config) {
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(exchange.getResponse(),
+                response -> {
+                    if (CapturingResponseDecorator.jsonBodyUpTo(config.getMaxBodySize()).test(response)) {
+                        return true;
+                    }
+                    complete(key, entry, null);
+                    return false;
+                },
+                (delegate, body) -> {
+                    HttpStatus status = delegate.getStatusCode();
+                    if ((status == null || status == HttpStatus.OK) && body.length <= config.getMaxBodySize()) {
+                        complete(key, entry, new SharedResponse(HttpStatus.OK, sharedHeaders(delegate), body));
+                    } else {
+                        complete(key, entry, null);
+                    }
+                    return body;
+                });
+        // 본문 없이 끝났거나 오류, 취소된 경우에도 기다리는 요청을 풀어 준다
+        return chain.filter(exchange.mutate().response(decorator).build())
+                .doFinally(signal -> complete(key, entry, null));
+    }
+
+    // 키를 먼저 지워서 이후 요청은 새 leader 가 되도록 한 뒤 기다리던 요청에 결과를 전달
+    private void complete(String key, InFlight entry, SharedResponse response) {
+        inFlight.remove(key, entry);
+        entry.sink.tryEmitValue(Optional.ofNullable(response));
+    }
+
+    private static HttpHeaders sharedHeaders(ServerHttpResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (EXCLUDED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, new ArrayList<>(values));
+            }
+        });
+        return headers;
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status);
+        shared.headers.forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().set(COALESCE_HEADER, "true");
+        response.getHeaders().setContentLength(shared.body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body)));
+    }
+
+    // 사용자를 키에 포함하는 라우트인데 검증된 사용자가 없으면 병합하지 않는다
+    private String coalescingKey(ServerWebExchange exchange, String routeId, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(routeId).append(' ')
+                .append(request.getMethodValue()).append(' ')
+                .append(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        for (String header : config.getKeyHeaders()) {
+            key.append('\n').append(header).append('=').append(request.getHeaders().getOrEmpty(header));
+        }
+        if (config.isKeyIncludesUser()) {
+            Claims claims = exchange.getAttribute(AuthorizationHeaderFilter.VERIFIED_CLAIMS_ATTR);
+            if (claims == null || claims.getSubject() == null) {
+                return null;
+            }
+            key.append('\n').append('@').append(claims.getSubject());
+        }
+        return key.toString();
+    }
+
+    enum Result {
+        LEADER,
+        BYPASS,
+        FALLBACK,
+        COALESCED
+    }
+
+    private static class InFlight {
+        private final Sinks.One<Optional<SharedResponse>> sink = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private static class SharedResponse {
+        private final HttpStatus status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        SharedResponse(HttpStatus status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.moenghae.apigatewayservice.cache;
+
+import com.moenghae.apigatewayservice.config.AuthorizationHeaderFilter;
+import com.moenghae.apigatewayservice.jwt.IdentityHeaderSigner;
+import com.moenghae.apigatewayservice.metrics.OutcomeCounters;
+import com.moenghae.apigatewayservice.support.CapturingResponseDecorator;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// 라우트 단위로 켜는 GET 응답 캐시.
+// ttl 동안은 캐시에서 바로 응답하고, 이후 stale-while-revalidate 동안은 이전 응답을 내보내면서
+// 하위 서비스에서 새 응답을 받아 캐시를 갱신한다.
+@Slf4j
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_HEADER = "X-Gateway-Cache";
+
+    private final ResponseCacheStore store;
+    private final IdentityHeaderSigner identityHeaderSigner;
+    private final OutcomeCounters<Result> counters;
+    private final WebClient webClient;
+
+    public ResponseCacheFilter(ResponseCacheStore store, IdentityHeaderSigner identityHeaderSigner,
+                               MeterRegistry meterRegistry, WebClient.Builder loadBalancedWebClientBuilder) {
+        super(Config.class);
+        this.store = store;
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.counters = new OutcomeCounters<>(meterRegistry, "gateway.response.cache.requests",
+                "GET requests handled by the gateway response cache", "route", Result.class,
+                result -> Tags.of("result", result.name().toLowerCase()));
+        this.webClient = loadBalancedWebClientBuilder.build();
+    }
+
+    @Data
+    public static class Config {
+        // 신선한 응답으로 취급하는 시간
+        private Duration ttl = Duration.ofSeconds(30);
+        // ttl 이후 이전 응답을 내보내며 재검증하는 시간
+        private Duration staleWhileRevalidate = Duration.ZERO;
+        // 캐시 키 구성 요소 (경로는 항상 포함)
+        private boolean keyIncludesQuery = true;
+        private boolean keyIncludesUser = false;
+        // Redis 를 두 번째 저장소로 사용 (게이트웨이 인스턴스 간 공유)
+        private boolean redis = false;
+        private int maxBodySize = 256 * 1024;
+        private Duration revalidateTimeout = Duration.ofSeconds(5);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "unknown" : route.getId();
+            String key = cacheKey(exchange, routeId, config);
+            if (key == null) {
+                return chain.filter(exchange);
+            }
+
+            return store.get(key, config.isRedis())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(cached -> {
+                        long now = System.currentTimeMillis();
+                        if (cached.isPresent() && cached.get().isFresh(now)) {
+                            counters.increment(routeId, Result.HIT);
+                            return write(exchange, cached.get(), "HIT");
+                        }
+                        if (cached.isPresent() && cached.get().isUsable(now)) {
+                            counters.increment(routeId, Result.STALE);
+                            if (route != null && store.beginRevalidation(key)) {
+                                revalidate(exchange, route, key, config);
+                            }
+                            return write(exchange, cached.get(), "STALE");
+                        }
+                        counters.increment(routeId, Result.MISS);
+                        return forward(exchange, chain, key, config);
+                    });
+        });
+    }
+
+    // 캐시 미스 : 하위 서비스 응답을 그대로 내보내면서 저장
+    // 모든 사용자가 공유하는 항목이면 요청한 사용자의 인증 정보 없이 호출해 특정 사용자 기준 응답이 저장되지 않게 한다
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, String key, Config config) {
+        if (!config.isKeyIncludesUser()) {
+            exchange = exchange.mutate()
+                    .request(exchange.getRequest().mutate().headers(this::removeCredentials).build())
+                    .build();
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(CACHE_HEADER, "MISS");
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(response,
+                CapturingResponseDecorator.jsonBodyUpTo(config.getMaxBodySize()),
+                (delegate, body) -> {
+                    if (delegate.getStatusCode() == HttpStatus.OK && body.length <= config.getMaxBodySize()) {
+                        MediaType contentType = delegate.getHeaders().getContentType();
+                        store.put(key, entry(contentType == null ? null : contentType.toString(), body, config),
+                                config.isRedis());
+                    }
+                    return body;
+                });
+        return chain.filter(exchange.mutate().response(decorator).build());
+    }
+
+    // stale 응답을 내보낸 뒤 백그라운드에서 하위 서비스를 직접 호출해 캐시 갱신
+    private void revalidate(ServerWebExchange exchange, Route route, String key, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        // lb://SERVICE 는 load-balanced WebClient 가 http://SERVICE 로 해석한다
+        URI target = UriComponentsBuilder.fromUri(route.getUri())
+                .scheme("http")
+                .path(request.getURI().getRawPath())
+                .query(request.getURI().getRawQuery())
+                .build(true)
+                .toUri();
+
+        webClient.get()
+                .uri(target)
+                .headers(headers -> {
+                    headers.addAll(request.getHeaders());
+                    headers.remove(HttpHeaders.HOST);
+                    if (!config.isKeyIncludesUser()) {
+                        removeCredentials(headers);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode() != HttpStatus.OK) {
+                        return response.releaseBody().then(Mono.<CachedResponse>empty());
+                    }
+                    String contentType = response.headers().contentType().map(MediaType::toString).orElse(null);
+                    return response.bodyToMono(byte[].class)
+                            .filter(body -> body.length <= config.getMaxBodySize())
+                            .map(body -> entry(contentType, body, config));
+                })
+                .timeout(config.getRevalidateTimeout())
+                .doFinally(signal -> store.endRevalidation(key))
+                .subscribe(entry -> store.put(key, entry, config.isRedis()),
+                        e -> log.debug("Response cache revalidation failed : {}", e.getMessage()));
+    }
+
+    private void removeCredentials(HttpHeaders headers) {
+        headers.remove(HttpHeaders.AUTHORIZATION);
+        headers.remove("refreshToken");
+        identityHeaderSigner.strip(headers);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String state) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.valueOf(cached.getStatus()));
+        if (cached.getContentType() != null) {
+            response.getHeaders().setContentType(MediaType.parseMediaType(cached.getContentType()));
+        }
+        response.getHeaders().set(CACHE_HEADER, state);
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private CachedResponse entry(String contentType, byte[] body, Config config) {
+        long now = System.currentTimeMillis();
+        long freshUntil = now + config.getTtl().toMillis();
+        return new CachedResponse(HttpStatus.OK.value(), contentType, body, freshUntil,
+                freshUntil + config.getStaleWhileRevalidate().toMillis());
+    }
+
+    // 사용자를 키에 포함하는 라우트인데 검증된 사용자가 없으면 캐시하지 않는다
+    private String cacheKey(ServerWebExchange exchange, String routeId, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(routeId).append(':').append(request.getURI().getRawPath());
+        if (config.isKeyIncludesQuery() && request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        if (config.isKeyIncludesUser()) {
+            Claims claims = exchange.getAttribute(AuthorizationHeaderFilter.VERIFIED_CLAIMS_ATTR);
+            if (claims == null || claims.getSubject() == null) {
+                return null;
+            }
+            key.append('@').append(claims.getSubject());
+        }
+        return key.toString();
+    }
+
+    enum Result {
+        HIT,
+        STALE,
+        MISS
+    }
+}
@@ -0,0 +1,119 @@
+package com.moenghae.apigatewayservice.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 응답 캐시 저장소. 게이트웨이 프로세스 안의 크기 제한 캐시를 먼저 보고,
+// 라우트가 redis 를 켠 경우에만 Redis 를 두 번째 저장소로 사용한다.
+@Slf4j
+@Component
+public class ResponseCacheStore {
+
+    private static final String REDIS_PREFIX = "resp-cache:";
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> local;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public ResponseCacheStore(ReactiveStringRedisTemplate reactiveRedisTemplate, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${gateway.response-cache.maximum-bytes:33554432}") long maximumBytes) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, CachedResponse value) -> key.length() + value.getBody().length)
+                .expireAfter(new ExpireAtStaleUntil())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "gateway.response");
+    }
+
+    public Mono<CachedResponse> get(String key, boolean redis) {
+        CachedResponse cached = local.getIfPresent(key);
+        if (cached != null || !redis) {
+            return Mono.justOrEmpty(cached);
+        }
+        return reactiveRedisTemplate.opsForValue().get(REDIS_PREFIX + key)
+                .flatMap(json -> Mono.justOrEmpty(decode(json)))
+                .filter(response -> response.isUsable(System.currentTimeMillis()))
+                .doOnNext(response -> local.put(key, response))
+                .onErrorResume(e -> {
+                    log.warn("Response cache read failed : {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public void put(String key, CachedResponse response, boolean redis) {
+        local.put(key, response);
+        if (!redis) {
+            return;
+        }
+        String json = encode(response);
+        long ttl = response.getStaleUntil() - System.currentTimeMillis();
+        if (json == null || ttl <= 0) {
+            return;
+        }
+        reactiveRedisTemplate.opsForValue().set(REDIS_PREFIX + key, json, Duration.ofMillis(ttl))
+                .subscribe(ok -> {}, e -> log.warn("Response cache write failed : {}", e.getMessage()));
+    }
+
+    // 같은 키의 재검증은 한 번만 진행
+    public boolean beginRevalidation(String key) {
+        return revalidating.add(key);
+    }
+
+    public void endRevalidation(String key) {
+        revalidating.remove(key);
+    }
+
+    private CachedResponse decode(String json) {
+        try {
+            return objectMapper.readValue(json, CachedResponse.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String encode(CachedResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static class ExpireAtStaleUntil implements Expiry<String, CachedResponse> {
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            long remaining = value.getStaleUntil() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.moenghae.apigatewayservice.circuitbreaker;
+
+import com.moenghae.apigatewayservice.concurrency.ConcurrencyLimitFilter;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// CircuitBreaker 필터의 statusCodes 대신 사용, CircuitBreaker 바로 다음에 등록한다.
+// 하위 서비스가 statusCodes 로 응답하면 오류로 바꿔 회로 차단기가 실패로 세게 하고,
+// 게이트웨이 스스로 만든 503(ConcurrencyLimitFilter 의 부하 차단)은 그대로 내보낸다.
+@Component
+public class UpstreamStatusFilter extends AbstractGatewayFilterFactory<UpstreamStatusFilter.Config> {
+
+    public UpstreamStatusFilter() {
+        super(Config.class);
+    }
+
+    @Data
+    public static class Config {
+        private List<Integer> statusCodes = List.of(502, 503, 504);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("statusCodes");
+    }
+
+    @Override
+    public ShortcutType shortcutType() {
+        return ShortcutType.GATHER_LIST;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        int[] statusCodes = config.getStatusCodes().stream().mapToInt(Integer::intValue).toArray();
+        return ((exchange, chain) -> chain.filter(exchange)
+                .then(Mono.defer(() -> {
+                    HttpStatus status = exchange.getResponse().getStatusCode();
+                    if (status == null || !contains(statusCodes, status.value())
+                            || exchange.getAttribute(ConcurrencyLimitFilter.SHED_ATTR) != null) {
+                        return Mono.empty();
+                    }
+                    return Mono.error(new UpstreamStatusException(status));
+                })));
+    }
+
+    private static boolean contains(int[] statusCodes, int status) {
+        for (int statusCode : statusCodes) {
+            if (statusCode == status) return true;
+        }
+        return false;
+    }
+
+    public static class UpstreamStatusException extends RuntimeException {
+        public UpstreamStatusException(HttpStatus status) {
+            super("Upstream responded " + status.value(), null, false, false);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.moenghae.apigatewayservice.concurrency;
+
+import com.moenghae.apigatewayservice.metrics.OutcomeCounters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// lb:// 서비스별 적응형 동시 요청 제한.
+// 인증, 처리율 제한을 통과한 요청만 하위 서비스 호출 직전에 자리를 잡고, 자리가 없으면 바로 503 으로 돌려보낸다.
+// 한 서비스가 느려져도 게이트웨이 연결이 그 서비스에 묶이지 않아 다른 서비스는 정상 응답한다.
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    // 게이트웨이가 직접 만든 503 표시, UpstreamStatusFilter 가 회로 차단 실패로 세지 않는다
+    public static final String SHED_ATTR = ConcurrencyLimitFilter.class.getName() + ".shed";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final OutcomeCounters<Outcome> counters;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, GradientLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.counters = new OutcomeCounters<>(meterRegistry, "gateway.concurrency.requests",
+                "Requests admitted or shed by the concurrency limiter", "service", Outcome.class,
+                outcome -> outcome.tags);
+    }
+
+    @Override
+    public int getOrder() {
+        // UpstreamTimingFilter 보다 앞
+        return NettyRoutingFilter.ORDER - 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || !"lb".equals(route.getUri().getScheme())) {
+            return chain.filter(exchange);
+        }
+        String service = route.getUri().getHost();
+        GradientLimiter limiter = limiters.computeIfAbsent(service, this::newLimiter);
+        boolean lowPriority = isLowPriority(exchange);
+
+        int inFlightAtStart = limiter.getInFlight();
+        if (!limiter.tryAcquire(lowPriority)) {
+            counters.increment(service, lowPriority ? Outcome.LOW_SHED : Outcome.NORMAL_SHED);
+            exchange.getAttributes().put(SHED_ATTR, Boolean.TRUE);
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return exchange.getResponse().setComplete();
+        }
+        counters.increment(service, lowPriority ? Outcome.LOW_ADMITTED : Outcome.NORMAL_ADMITTED);
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        limiter.onCancelled(System.nanoTime() - start, inFlightAtStart + 1);
+                    } else if (signal == SignalType.ON_ERROR || isServerError(exchange)) {
+                        limiter.onDropped();
+                    } else {
+                        limiter.onSuccess(System.nanoTime() - start, inFlightAtStart + 1);
+                    }
+                });
+    }
+
+    // 게이트웨이가 직접 보내는 추가 호출(헤지 요청)도 같은 서비스 한도 안에서 낮은 우선순위로 보낸다.
+    // 자리가 없으면 호출하지 않고 empty, failed 가 true 인 결과는 5xx 처럼 한도를 줄인다.
+    public <T> Mono<T> withinLimit(String service, Mono<T> call, Predicate<T> failed) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            GradientLimiter limiter = limiters.computeIfAbsent(service, this::newLimiter);
+            int inFlightAtStart = limiter.getInFlight();
+            if (!limiter.tryAcquire(true)) {
+                counters.increment(service, Outcome.LOW_SHED);
+                return Mono.empty();
+            }
+            counters.increment(service, Outcome.LOW_ADMITTED);
+
+            long start = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            return call
+                    .doOnNext(result -> {
+                        if (!settled.compareAndSet(false, true)) return;
+                        if (failed.test(result)) {
+                            limiter.onDropped();
+                        } else {
+                            limiter.onSuccess(System.nanoTime() - start, inFlightAtStart + 1);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (!settled.compareAndSet(false, true)) return;
+                        if (signal == SignalType.ON_ERROR) {
+                            limiter.onDropped();
+                        } else if (signal == SignalType.CANCEL) {
+                            limiter.onCancelled(System.nanoTime() - start, inFlightAtStart + 1);
+                        } else {
+                            limiter.release();
+                        }
+                    });
+        });
+    }
+
+    private boolean isLowPriority(ServerWebExchange exchange) {
+        Set<URI> originalUrls = exchange.getAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        String path = originalUrls == null || originalUrls.isEmpty()
+                ? exchange.getRequest().getPath().value()
+                : originalUrls.iterator().next().getRawPath();
+        for (String pattern : properties.getLowPriorityPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isServerError(ServerWebExchange exchange) {
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError();
+    }
+
+    private GradientLimiter newLimiter(String service) {
+        GradientLimiter limiter = new GradientLimiter(properties);
+        Gauge.builder("gateway.concurrency.limit", limiter, GradientLimiter::getLimit)
+                .description("Current adaptive concurrency limit per downstream service")
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, GradientLimiter::getInFlight)
+                .description("Requests in flight per downstream service")
+                .tag("service", service)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    enum Outcome {
+        NORMAL_ADMITTED("normal", "admitted"),
+        NORMAL_SHED("normal", "shed"),
+        LOW_ADMITTED("low", "admitted"),
+        LOW_SHED("low", "shed");
+
+        private final Tags tags;
+
+        Outcome(String priority, String outcome) {
+            this.tags = Tags.of("priority", priority, "outcome", outcome);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.moenghae.apigatewayservice.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// gateway.concurrency-limit.* 설정, lb:// 서비스마다 동시 요청 한도를 지연 시간에 따라 조절
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // 서비스별 시작 한도와 조절 범위
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+
+    // 새로 계산한 한도를 반영하는 비율 (0 ~ 1), 작을수록 천천히 바뀐다
+    private double smoothing = 0.2;
+
+    // 평소 지연 시간 대비 이 배수까지는 한도를 줄이지 않는다
+    private double rttTolerance = 1.5;
+
+    // 평소 지연 시간(장기 평균)을 계산하는 표본 수
+    private int longWindow = 600;
+
+    // 5xx / 예외 응답 시 한도에 곱하는 값
+    private double backoffRatio = 0.9;
+
+    // 우선순위가 낮은 요청은 한도의 이 비율까지만 사용
+    private double lowPriorityShare = 0.5;
+
+    // 우선순위가 낮은 요청 경로 (게이트웨이로 들어온 원래 경로 기준)
+    private List<String> lowPriorityPaths = new ArrayList<>(List.of(
+            "/*/v2/**", "/*/actuator/**", "/*/swagger-ui/**", "/*/swagger-resources/**"));
+}
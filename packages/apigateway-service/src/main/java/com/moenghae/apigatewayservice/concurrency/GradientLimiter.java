@@ -0,0 +1,103 @@
+package com.moenghae.apigatewayservice.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 서비스 하나의 동시 요청 한도.
+// 장기 평균 지연 시간과 이번 지연 시간의 비율(gradient)로 한도를 늘리거나 줄이고,
+// 5xx / 예외 응답에는 비율만큼 곱해서 바로 줄인다.
+class GradientLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private long samples;
+
+    GradientLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    boolean tryAcquire(boolean lowPriority) {
+        int allowed = (int) limit;
+        if (lowPriority) {
+            allowed = Math.max(1, (int) (allowed * properties.getLowPriorityShare()));
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 지연 시간을 반영하지 않고 자리만 반환
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    // 취소된 요청. 회로 차단기의 시간 제한은 요청을 취소해서 끝내므로,
+    // 평소 지연 시간의 rttTolerance 배보다 오래 걸린 뒤 취소됐으면 그때까지의 시간을 지연 시간 표본으로 반영해 한도를 줄인다.
+    // 그보다 빨리 취소된 요청(클라이언트 중단 등)은 지연 시간과 관계없으므로 자리만 반환
+    void onCancelled(long elapsedNanos, int inFlightAtStart) {
+        if (isSlow(elapsedNanos)) {
+            onSuccess(elapsedNanos, inFlightAtStart);
+        } else {
+            release();
+        }
+    }
+
+    void onSuccess(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart);
+    }
+
+    void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = clamp(limit * properties.getBackoffRatio());
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized boolean isSlow(long rttNanos) {
+        return samples > 0 && rttNanos > properties.getRttTolerance() * longRttNanos;
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart) {
+        int window = properties.getLongWindow();
+        samples++;
+        if (samples == 1) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / Math.min(samples, window);
+        }
+        // 지연이 오래 높게 유지되면 평균이 따라 올라가 한도가 다시 늘지 않으므로, 회복 시 빨리 내린다
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // 한도의 절반도 쓰지 않는 동안은 지연 시간이 한도와 무관하므로 늘리지 않는다
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRttNanos / rttNanos));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        limit = clamp(limit * (1 - properties.getSmoothing()) + newLimit * properties.getSmoothing());
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+}
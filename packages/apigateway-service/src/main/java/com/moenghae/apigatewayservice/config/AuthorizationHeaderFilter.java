@@ -1,7 +1,13 @@
 package com.moenghae.apigatewayservice.config;
 
+import com.moenghae.apigatewayservice.jwt.IdentityHeaderSigner;
 import com.moenghae.apigatewayservice.jwt.JwtTokenProvider;
 import com.moenghae.apigatewayservice.jwt.RedisService;
+import com.moenghae.apigatewayservice.jwt.SessionVerdict;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -10,19 +16,36 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Component
 public class AuthorizationHeaderFilter extends AbstractGatewayFilterFactory<AuthorizationHeaderFilter.Config>
         implements Ordered {
 
+    // 검증된 access 토큰 클레임, 이후 필터(처리율 제한 등)에서 사용자 식별에 사용
+    public static final String VERIFIED_CLAIMS_ATTR = "verifiedClaims";
+
     JwtTokenProvider jwtTokenProvider;
     RedisService redisService;
+    IdentityHeaderSigner identityHeaderSigner;
+
+    // 인증 결과별 요청 수
+    private final Counter publicCounter;
+    private final Counter accessCounter;
+    private final Counter refreshCounter;
+    private final Counter rejectedCounter;
 
-    public AuthorizationHeaderFilter(JwtTokenProvider jwtTokenProvider, RedisService redisService) {
+    public AuthorizationHeaderFilter(JwtTokenProvider jwtTokenProvider, RedisService redisService,
+                                     IdentityHeaderSigner identityHeaderSigner, MeterRegistry meterRegistry) {
         super(Config.class);
         this.jwtTokenProvider = jwtTokenProvider;
         this.redisService = redisService;
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.publicCounter = authCounter(meterRegistry, "public");
+        this.accessCounter = authCounter(meterRegistry, "access");
+        this.refreshCounter = authCounter(meterRegistry, "refresh");
+        this.rejectedCounter = authCounter(meterRegistry, "rejected");
     }
 
     @Override
@@ -43,34 +66,77 @@ public class AuthorizationHeaderFilter extends AbstractGatewayFilterFactory<Auth
             String refreshToken = jwtTokenProvider.resolveRefreshToken(request);
 
             if (isPublicPath(path)) {
+                publicCounter.increment();
                 return chain.filter(exchange.mutate().request(
-                        request.mutate().header("androidId", androidId).build()
+                        request.mutate()
+                                .headers(identityHeaderSigner::strip)
+                                .header("androidId", androidId)
+                                .build()
                 ).build());
             }
 
             if (accessToken == null) {
-                if (jwtTokenProvider.validateToken(refreshToken) && redisService.isRefreshTokenValid(refreshToken)
-                        && redisService.isAndroidIdValid(refreshToken, androidId)) {
-                    return chain.filter(exchange.mutate().request(
-                            request.mutate()
-                                    .header("androidId", androidId)
-                                    .header("refreshToken", refreshToken)
-                                    .build()).build());
-                }
-            } else {
-                if (jwtTokenProvider.validateToken(accessToken) && !redisService.isTokenInBlacklist(accessToken)) {
-                    log.info("JWT Token is good.");
+                try {
+                    jwtTokenProvider.validateToken(refreshToken);
+                } catch (RuntimeException e) {
+                    return reject(e);
                 }
+                // 세션 존재, androidId 바인딩, 블랙리스트를 Redis 스크립트 한 번으로 확인
+                return redisService.verifyRefreshSession(refreshToken, androidId)
+                        .flatMap(verdict -> {
+                            if (verdict != SessionVerdict.VALID) {
+                                return reject(new MalformedJwtException("Invalid JWT token"));
+                            }
+                            refreshCounter.increment();
+                            return chain.filter(exchange.mutate().request(
+                                    request.mutate()
+                                            .headers(identityHeaderSigner::strip)
+                                            .header("androidId", androidId)
+                                            .header("refreshToken", refreshToken)
+                                            .build()).build());
+                        });
             }
 
-            return chain.filter(exchange.mutate().request(
-                    request.mutate()
-                            .header(HttpHeaders.AUTHORIZATION, accessToken)
-                            .header("refreshToken", refreshToken)
-                            .build()).build());
+            // 서명 + 만료 검증은 여기서 한 번만 하고, 검증된 클레임을 하위 서비스로 전달
+            Claims claims;
+            try {
+                claims = jwtTokenProvider.getClaims(accessToken);
+            } catch (RuntimeException e) {
+                return reject(e);
+            }
+            return redisService.isTokenInBlacklist(accessToken)
+                    .flatMap(blacklisted -> {
+                        if (blacklisted) {
+                            return reject(new MalformedJwtException("Invalid JWT token"));
+                        }
+                        accessCounter.increment();
+                        exchange.getAttributes().put(VERIFIED_CLAIMS_ATTR, claims);
+                        return chain.filter(exchange.mutate().request(
+                                request.mutate()
+                                        .headers(headers -> {
+                                            identityHeaderSigner.strip(headers);
+                                            identityHeaderSigner.sign(headers, claims);
+                                        })
+                                        .header(HttpHeaders.AUTHORIZATION, accessToken)
+                                        .header("refreshToken", refreshToken)
+                                        .build()).build());
+                    });
         });
     }
 
+    // 검증 실패는 MyWebExceptionHandler 가 errorCode 로 변환한다
+    private Mono<Void> reject(Throwable e) {
+        rejectedCounter.increment();
+        return Mono.error(e);
+    }
+
+    private static Counter authCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.auth.outcomes")
+                .description("Authorization results of AuthorizationHeaderFilter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private boolean isPublicPath(String path) {
         return path.startsWith("/health") || path.endsWith("/prometheus") ||
                 path.contains("/signup") || path.contains("/login") ||
@@ -22,13 +22,17 @@ public class GlobalFilter extends AbstractGatewayFilterFactory<GlobalFilter.Conf
             ServerHttpRequest request = exchange.getRequest();
             ServerHttpResponse response = exchange.getResponse();
 
-            log.info("Global Filter baseMessage: {}, {}", config.getBaseMessage(), request.getRemoteAddress());
+            // 요청 지연 시간은 RouteMetricsFilter 타이머로 수집하고, 요청 단위 로그는 debug 에서만 남긴다
+            if (!log.isDebugEnabled()) {
+                return chain.filter(exchange);
+            }
+            log.debug("Global Filter baseMessage: {}, {}", config.getBaseMessage(), request.getRemoteAddress());
             if (config.isPreLogger()) {
-                log.info("Global Filter Start: request id -> {}", request.getId());
+                log.debug("Global Filter Start: request id -> {}", request.getId());
             }
             return chain.filter(exchange).then(Mono.fromRunnable(()->{
                 if (config.isPostLogger()) {
-                    log.info("Global Filter End: response code -> {}", response.getStatusCode());
+                    log.debug("Global Filter End: response code -> {}", response.getStatusCode());
                 }
             }));
         });
@@ -0,0 +1,11 @@
+package com.moenghae.apigatewayservice.config;
+
+import com.moenghae.apigatewayservice.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+// 모든 lb:// 서비스에 지연 시간 기반 인스턴스 선택을 적용
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -95,19 +95,19 @@ public class SwaggerConfiguration {
     @Bean
     public RouteLocator routeLocator(RouteLocatorBuilder builder) {
         return builder.routes()
-                .route("user-service", r -> r.path("/user-service/v2/api-docs")
+                .route("user-service-api-docs", r -> r.path("/user-service/v2/api-docs")
                         .filters(f -> f.rewritePath("/user-service/(?<segment>.*)", "/${segment}")
                                 .setPath("/v2/api-docs"))
                         .uri("lb://USER-SERVICE"))
-                .route("community-service", r -> r.path("/community-service/v2/api-docs")
+                .route("community-service-api-docs", r -> r.path("/community-service/v2/api-docs")
                         .filters(f -> f.rewritePath("/community-service/(?<segment>.*)", "/${segment}")
                                 .setPath("/v2/api-docs"))
                         .uri("lb://COMMUNITY-SERVICE"))
-                .route("profile-service", r -> r.path("/profile-service/v2/api-docs")
+                .route("profile-service-api-docs", r -> r.path("/profile-service/v2/api-docs")
                         .filters(f -> f.rewritePath("/profile-service/(?<segment>.*)", "/${segment}")
                                 .setPath("/v2/api-docs"))
                         .uri("lb://PROFILE-SERVICE"))
-                .route("s3-file-service", r -> r.path("/s3-file-service/v2/api-docs")
+                .route("s3-file-service-api-docs", r -> r.path("/s3-file-service/v2/api-docs")
                         .filters(f -> f.rewritePath("/s3-file-service/(?<segment>.*)", "/${segment}")
                                 .setPath("/v2/api-docs"))
                         .uri("lb://S3-FILE-SERVICE"))
@@ -1,11 +1,14 @@
 package com.moenghae.apigatewayservice.config;
 
 import com.moenghae.apigatewayservice.error.MyWebExceptionHandler;
+import com.moenghae.apigatewayservice.loadbalancer.InFlightRequest;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebConfig {
@@ -20,6 +23,14 @@ public class WebConfig {
         return new RestTemplate();
     }
 
+    // lb://SERVICE-NAME 주소로 하위 서비스를 직접 호출할 때 사용
+    // 취소된 호출의 인스턴스별 진행 중 요청 수 반환 (로드밸런서 필터보다 먼저 등록)
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder().filter(InFlightRequest.cancelTracking());
+    }
+
     @Bean
     public ErrorWebExceptionHandler myExceptionHandler() {
         return new MyWebExceptionHandler();
@@ -0,0 +1,52 @@
+package com.moenghae.apigatewayservice.controller;
+
+import com.moenghae.apigatewayservice.circuitbreaker.UpstreamStatusFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+// CircuitBreaker 필터의 fallbackUri (forward:/fallback/{service}).
+// 하위 서비스가 열린 회로, 시간 초과, 5xx 로 실패하면 503 과 함께 원인만 알려준다.
+@RestController
+public class FallbackController {
+
+    @RequestMapping("/fallback/{service}")
+    public ResponseEntity<Map<String, Object>> fallback(@PathVariable String service, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("service", service);
+        body.put("reason", reason(cause));
+        body.put("message", "서비스를 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body);
+    }
+
+    private static String reason(Throwable cause) {
+        if (cause == null) {
+            return "unknown";
+        }
+        String type = cause.getClass().getSimpleName();
+        if ("CallNotPermittedException".equals(type)) {
+            return "circuit-open";
+        }
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof UpstreamStatusFilter.UpstreamStatusException
+                || "CircuitBreakerStatusCodeException".equals(type)) {
+            return "upstream-error";
+        }
+        return "unavailable";
+    }
+}
@@ -0,0 +1,335 @@
+package com.moenghae.apigatewayservice.hedge;
+
+import com.moenghae.apigatewayservice.concurrency.ConcurrencyLimitFilter;
+import com.moenghae.apigatewayservice.loadbalancer.DistinctInstances;
+import com.moenghae.apigatewayservice.metrics.OutcomeCounters;
+import com.moenghae.apigatewayservice.metrics.RouteMetricsFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// 멱등한 GET 라우트에 거는 헤지 요청.
+// 첫 요청은 평소처럼 필터 체인(동시 요청 한도, upstream 지연 시간 기록, NettyRoutingFilter)으로 보내고,
+// 그 라우트의 최근 지연 시간 백분위수(기본 p95) 안에 응답 헤더가 오지 않으면 다른 인스턴스로 같은 요청을 한 번 더 보낸다.
+// 먼저 응답 헤더를 받은 쪽을 내보내고 나머지는 취소한다.
+// 헤지 응답은 maxBodySize 까지만 메모리에 모으고, 더 크면 헤지를 포기하고 첫 요청의 응답을 그대로 흘려보낸다.
+// 작은 JSON 을 돌려주는 GET 라우트에만 등록하고, 필터 목록의 마지막에 둔다.
+@Component
+public class HedgingFilter extends AbstractGatewayFilterFactory<HedgingFilter.Config> {
+
+    private static final String HEDGE_HEADER = "X-Gateway-Hedged";
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH);
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final RouteMetricsFilter routeMetricsFilter;
+    private final OutcomeCounters<Outcome> counters;
+    private final WebClient webClient;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    public HedgingFilter(MeterRegistry meterRegistry, ConcurrencyLimitFilter concurrencyLimitFilter,
+                         RouteMetricsFilter routeMetricsFilter, WebClient.Builder loadBalancedWebClientBuilder) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+        this.routeMetricsFilter = routeMetricsFilter;
+        this.counters = new OutcomeCounters<>(meterRegistry, "gateway.hedge.requests",
+                "GET requests on hedged routes by whether a hedge was sent and which response won", "route",
+                Outcome.class, outcome -> outcome.tags);
+        this.webClient = loadBalancedWebClientBuilder.build();
+    }
+
+    @Data
+    public static class Config {
+        // 헤지 요청을 보내기까지 기다리는 지연 시간 백분위수
+        private double quantile = 0.95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        // 표본이 이보다 적으면 헤지하지 않는다
+        private int minSamples = 100;
+        private int windowSize = 1024;
+        // 전체 요청 대비 헤지 요청 비율 상한
+        private double maxHedgeRatio = 0.1;
+        // 헤지 응답 본문을 메모리에 모으는 최대 크기, 넘으면 첫 요청의 응답을 사용
+        private int maxBodySize = 256 * 1024;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            if (exchange.getRequest().getMethod() != HttpMethod.GET
+                    || route == null || !"lb".equals(route.getUri().getScheme())) {
+                return chain.filter(exchange);
+            }
+            String routeId = route.getId();
+            LatencyWindow window = windows.get(routeId);
+            if (window == null) {
+                window = windows.computeIfAbsent(routeId, id -> register(id, config));
+            }
+            window.deposit(config.getMaxHedgeRatio());
+            LatencyWindow samples = window;
+
+            long delayNanos = delay(window, config);
+            if (delayNanos < 0) {
+                return chain.filter(exchange)
+                        .doFinally(signal -> {
+                            record(exchange, samples);
+                            counters.increment(routeId, Outcome.NOT_HEDGED);
+                        });
+            }
+
+            Race race = new Race();
+            Mono<Void> primary = chain.filter(exchange.mutate().response(new PrimaryResponse(exchange.getResponse(), race)).build())
+                    // 헤지 응답을 내보내는 중에 끝난 첫 요청의 오류는 무시
+                    .onErrorResume(e -> race.winner() == Race.HEDGE ? Mono.never() : Mono.error(e))
+                    .doFinally(signal -> record(exchange, samples));
+
+            URI target = target(exchange, route);
+            Mono<Void> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                    .filter(tick -> race.winner() == Race.NONE && samples.tryWithdraw())
+                    .flatMap(tick -> {
+                        race.hedged = true;
+                        return concurrencyLimitFilter.withinLimit(route.getUri().getHost(),
+                                call(target, exchange, routeId, samples, config),
+                                attempt -> attempt.status.is5xxServerError());
+                    })
+                    .filter(attempt -> !attempt.status.is5xxServerError() && race.claim(Race.HEDGE))
+                    .flatMap(attempt -> write(exchange, attempt))
+                    // 진 헤지 요청은 완료 신호를 내지 않아 첫 요청의 응답을 끊지 않는다
+                    .switchIfEmpty(Mono.never())
+                    .onErrorResume(e -> Mono.never());
+
+            return Mono.firstWithSignal(primary, hedge)
+                    .doOnSuccess(v -> counters.increment(routeId, !race.hedged ? Outcome.NOT_HEDGED
+                            : race.winner() == Race.HEDGE ? Outcome.HEDGE_WON : Outcome.PRIMARY_WON));
+        });
+    }
+
+    // UpstreamTimingFilter 가 잰 첫 요청의 응답 헤더 도착 시간 (취소된 경우 취소 시점까지)
+    private static void record(ServerWebExchange exchange, LatencyWindow window) {
+        Long upstreamNanos = exchange.getAttribute(RouteMetricsFilter.UPSTREAM_NANOS_ATTR);
+        if (upstreamNanos != null) {
+            window.record(upstreamNanos);
+        }
+    }
+
+    private Mono<Attempt> call(URI target, ServerWebExchange exchange, String routeId, LatencyWindow window,
+                               Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        ServiceInstance primaryInstance = chosen == null || !chosen.hasServer() ? null : chosen.getServer();
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                    .uri(target)
+                    .attribute(DistinctInstances.ATTRIBUTE, DistinctInstances.excluding(primaryInstance))
+                    .headers(headers -> {
+                        headers.addAll(request.getHeaders());
+                        headers.remove(HttpHeaders.HOST);
+                    })
+                    .exchangeToMono(response -> {
+                        long nanos = System.nanoTime() - start;
+                        window.record(nanos);
+                        routeMetricsFilter.recordUpstream(routeId, response.rawStatusCode(), nanos);
+                        if (response.headers().contentLength().orElse(-1) > config.getMaxBodySize()) {
+                            return response.releaseBody().then(Mono.<Attempt>empty());
+                        }
+                        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), config.getMaxBodySize())
+                                .map(joined -> {
+                                    byte[] bytes = new byte[joined.readableByteCount()];
+                                    joined.read(bytes);
+                                    DataBufferUtils.release(joined);
+                                    return bytes;
+                                })
+                                .defaultIfEmpty(new byte[0])
+                                .map(body -> new Attempt(response.statusCode(), response.headers().asHttpHeaders(), body))
+                                .onErrorResume(DataBufferLimitException.class, e -> Mono.empty());
+                    });
+        });
+    }
+
+    // 표본이 모이기 전에는 -1 (헤지하지 않음)
+    private static long delay(LatencyWindow window, Config config) {
+        long quantile = window.quantile(config.getQuantile(), config.getMinSamples());
+        if (quantile < 0) {
+            return -1;
+        }
+        return Math.max(config.getMinDelay().toNanos(), Math.min(config.getMaxDelay().toNanos(), quantile));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt attempt) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(attempt.status);
+        attempt.headers.forEach((name, values) -> {
+            if (!SKIPPED_RESPONSE_HEADERS.contains(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        response.getHeaders().set(HEDGE_HEADER, "hedge");
+        response.getHeaders().setContentLength(attempt.body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(attempt.body)));
+    }
+
+    // lb://SERVICE 는 load-balanced WebClient 가 http://SERVICE 로 해석한다
+    private static URI target(ServerWebExchange exchange, Route route) {
+        URI uri = exchange.getRequest().getURI();
+        return UriComponentsBuilder.fromUri(route.getUri())
+                .scheme("http")
+                .path(uri.getRawPath())
+                .query(uri.getRawQuery())
+                .build(true)
+                .toUri();
+    }
+
+    private LatencyWindow register(String routeId, Config config) {
+        LatencyWindow window = new LatencyWindow(config.getWindowSize());
+        Gauge.builder("gateway.hedge.delay", window,
+                        w -> Math.max(0, w.quantile(config.getQuantile(), config.getMinSamples())) / 1_000_000.0)
+                .description("Upstream latency quantile used as the hedge delay in milliseconds")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return window;
+    }
+
+    enum Outcome {
+        NOT_HEDGED("false", "primary"),
+        PRIMARY_WON("true", "primary"),
+        HEDGE_WON("true", "hedge");
+
+        private final Tags tags;
+
+        Outcome(String hedged, String winner) {
+            this.tags = Tags.of("hedged", hedged, "winner", winner);
+        }
+    }
+
+    // 먼저 응답을 쓰기 시작한 쪽이 이긴다
+    private static class Race {
+        static final int NONE = 0;
+        static final int PRIMARY = 1;
+        static final int HEDGE = 2;
+
+        private final AtomicInteger winner = new AtomicInteger(NONE);
+        private volatile boolean hedged;
+
+        boolean claim(int attempt) {
+            return winner.compareAndSet(NONE, attempt) || winner.get() == attempt;
+        }
+
+        int winner() {
+            return winner.get();
+        }
+    }
+
+    // 첫 요청의 응답 상태와 헤더를 따로 모아 두었다가, 헤지 요청보다 먼저 본문을 쓰기 시작할 때만 실제 응답에 반영한다.
+    // 헤지 요청이 이겼으면 본문을 쓰지 않고 기다리다가 취소된다.
+    private static class PrimaryResponse extends ServerHttpResponseDecorator {
+        private final Race race;
+        private final HttpHeaders headers = new HttpHeaders();
+        private Integer status;
+
+        PrimaryResponse(ServerHttpResponse delegate, Race race) {
+            super(delegate);
+            this.race = race;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatus status) {
+            this.status = status == null ? null : status.value();
+            return true;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return status == null ? null : HttpStatus.resolve(status);
+        }
+
+        @Override
+        public boolean setRawStatusCode(Integer status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public Integer getRawStatusCode() {
+            return status;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return claim() ? getDelegate().writeWith(body) : Mono.never();
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return claim() ? getDelegate().writeAndFlushWith(body) : Mono.never();
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return claim() ? getDelegate().setComplete() : Mono.never();
+        }
+
+        private boolean claim() {
+            if (!race.claim(Race.PRIMARY)) {
+                return false;
+            }
+            if (status != null) {
+                getDelegate().setRawStatusCode(status);
+            }
+            getDelegate().getHeaders().addAll(headers);
+            headers.clear();
+            return true;
+        }
+    }
+
+    private static class Attempt {
+        private final HttpStatus status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        Attempt(HttpStatus status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.moenghae.apigatewayservice.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 라우트별 최근 upstream 지연 시간 표본과 헤지 예산.
+// 백분위수는 요청마다 계산하지 않고 최대 1초에 한 번 표본을 복사해 정렬한다.
+class LatencyWindow {
+
+    private static final long RECOMPUTE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // 예산은 1/1000 단위로 쌓고, 헤지 한 번에 1000 을 쓴다
+    private static final long HEDGE_COST = 1000;
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong budget = new AtomicLong();
+    private volatile long quantileNanos = -1;
+    private volatile long computedAt = System.nanoTime() - RECOMPUTE_INTERVAL_NANOS;
+
+    LatencyWindow(int size) {
+        this.samples = new AtomicLongArray(size);
+    }
+
+    void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.lazySet((int) (index % samples.length()), nanos);
+    }
+
+    // 표본이 minSamples 보다 적으면 -1
+    long quantile(double quantile, int minSamples) {
+        long now = System.nanoTime();
+        if (now - computedAt >= RECOMPUTE_INTERVAL_NANOS) {
+            computedAt = now;
+            quantileNanos = compute(quantile, minSamples);
+        }
+        return quantileNanos;
+    }
+
+    // 요청마다 maxHedgeRatio 만큼 예산이 쌓이고, 헤지 요청은 쌓인 예산 안에서만 보낸다
+    void deposit(double maxHedgeRatio) {
+        long amount = (long) (maxHedgeRatio * HEDGE_COST);
+        long current;
+        do {
+            current = budget.get();
+            if (current >= MAX_BUDGET) return;
+        } while (!budget.compareAndSet(current, Math.min(MAX_BUDGET, current + amount)));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < HEDGE_COST) return false;
+        } while (!budget.compareAndSet(current, current - HEDGE_COST));
+        return true;
+    }
+
+    private long compute(double quantile, int minSamples) {
+        int count = (int) Math.min(recorded.get(), samples.length());
+        if (count < Math.max(1, minSamples)) {
+            return -1;
+        }
+        long[] copy = new long[count];
+        for (int i = 0; i < count; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(quantile * count) - 1;
+        return copy[Math.max(0, Math.min(count - 1, index))];
+    }
+}
@@ -0,0 +1,297 @@
+package com.moenghae.apigatewayservice.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moenghae.apigatewayservice.config.AuthorizationHeaderFilter;
+import com.moenghae.apigatewayservice.metrics.OutcomeCounters;
+import com.moenghae.apigatewayservice.support.CapturingResponseDecorator;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// Idempotency-Key 헤더가 있는 변경 요청(POST, PUT, DELETE, PATCH)을 한 번만 실행한다.
+// 처음 요청이 Redis 에 PENDING 으로 자리를 잡고, 끝나면 응답을 DONE 으로 저장해 ttl 동안 같은 키 요청에 그대로 돌려준다.
+// 처음 요청이 진행 중이면 같은 키 요청은 끝날 때까지 기다렸다가 저장된 응답을 받는다.
+// 5xx, 예외로 끝난 요청은 기록을 지워서 재시도하면 다시 실행되도록 한다.
+// 같은 키로 메서드, 경로, 본문이 다른 요청이 오면 422 (본문은 maxHashedBodySize 까지 해시, 더 크면 형식과 길이로 비교).
+@Slf4j
+@Component
+public class IdempotencyFilter extends AbstractGatewayFilterFactory<IdempotencyFilter.Config> {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String REDIS_PREFIX = "idem:";
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutcomeCounters<Result> counters;
+
+    public IdempotencyFilter(ReactiveStringRedisTemplate reactiveRedisTemplate, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.counters = new OutcomeCounters<>(meterRegistry, "gateway.idempotency.requests",
+                "Mutating requests carrying an Idempotency-Key", "route", Result.class,
+                result -> Tags.of("result", result.name().toLowerCase()));
+    }
+
+    @Data
+    public static class Config {
+        // 완료된 응답을 보관하는 시간
+        private Duration ttl = Duration.ofMinutes(10);
+        // 처음 요청이 이 시간 안에 끝나지 않으면 자리를 잃는다 (게이트웨이 장애 대비)
+        private Duration lockTimeout = Duration.ofSeconds(30);
+        // 같은 키 요청이 처음 요청을 기다리는 최대 시간, 넘으면 409
+        private Duration waitTimeout = Duration.ofSeconds(10);
+        // 이보다 큰 응답은 저장하지 않는다
+        private int maxBodySize = 64 * 1024;
+        // 이 크기까지의 요청 본문은 메모리에 모아 해시를 비교한다, 길이를 모르거나 더 크면 Content-Type / Content-Length 만 비교
+        private int maxHashedBodySize = 256 * 1024;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String idempotencyKey = request.getHeaders().getFirst(IDEMPOTENCY_KEY_HEADER);
+            if (idempotencyKey == null || !isMutating(request.getMethod())) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "unknown" : route.getId();
+            if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+                counters.increment(routeId, Result.INVALID);
+                return complete(exchange, HttpStatus.BAD_REQUEST);
+            }
+            // 키는 사용자 범위로 둔다, 다른 사용자의 응답이 재생되지 않도록
+            Claims claims = exchange.getAttribute(AuthorizationHeaderFilter.VERIFIED_CLAIMS_ATTR);
+            String user = claims == null || claims.getSubject() == null ? "anonymous" : claims.getSubject();
+            String key = REDIS_PREFIX + routeId + ':' + user + ':' + idempotencyKey;
+            MediaType contentType = request.getHeaders().getContentType();
+            long contentLength = request.getHeaders().getContentLength();
+            String target = request.getMethodValue() + ' ' + request.getURI().getRawPath()
+                    + (request.getURI().getRawQuery() == null ? "" : '?' + request.getURI().getRawQuery())
+                    + ' ' + (contentType == null ? "-" : contentType.toString());
+
+            long deadline = System.nanoTime() + config.getWaitTimeout().toNanos();
+            if (contentLength <= 0 || contentLength > config.getMaxHashedBodySize()) {
+                String fingerprint = target + ' ' + contentLength;
+                return handle(exchange, chain, key, fingerprint, routeId, config, deadline, 0);
+            }
+            // 본문을 한 번 모아 두고 하위 서비스에는 모아 둔 본문을 다시 보낸다 (RemoveCachedBodyFilter 가 해제)
+            return ServerWebExchangeUtils.cacheRequestBody(exchange, cachedRequest -> {
+                DataBuffer body = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+                String fingerprint = target + ' ' + contentLength + ' ' + bodyDigest(body);
+                return handle(exchange.mutate().request(cachedRequest).build(), chain, key, fingerprint, routeId,
+                        config, deadline, 0);
+            });
+        });
+    }
+
+    // 본문 SHA-256 을 base64url 로
+    private static String bodyDigest(DataBuffer body) {
+        if (body == null) {
+            return "-";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body.asByteBuffer());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Mono<Void> handle(ServerWebExchange exchange, GatewayFilterChain chain, String key, String fingerprint,
+                              String routeId, Config config, long deadline, int attempt) {
+        String pending = encode(IdempotencyRecord.pending(fingerprint));
+        return redis(reactiveRedisTemplate.opsForValue().setIfAbsent(key, pending, config.getLockTimeout()))
+                .flatMap(acquired -> {
+                    if (acquired.isEmpty()) {
+                        // Redis 장애 시에는 중복 방지 없이 그대로 실행
+                        counters.increment(routeId, Result.ERROR);
+                        return chain.filter(exchange);
+                    }
+                    if (acquired.get()) {
+                        counters.increment(routeId, Result.FIRST);
+                        return lead(exchange, chain, key, fingerprint, config);
+                    }
+                    return redis(reactiveRedisTemplate.opsForValue().get(key))
+                            .flatMap(json -> {
+                                IdempotencyRecord record = json.map(this::decode).orElse(null);
+                                if (record == null) {
+                                    // 처음 요청이 실패해 기록이 지워졌으면 다시 자리를 잡는다
+                                    return retry(exchange, chain, key, fingerprint, routeId, config, deadline, attempt);
+                                }
+                                if (!fingerprint.equals(record.getFingerprint())) {
+                                    counters.increment(routeId, Result.MISMATCH);
+                                    return complete(exchange, HttpStatus.UNPROCESSABLE_ENTITY);
+                                }
+                                if (record.isDone()) {
+                                    counters.increment(routeId, attempt == 0 ? Result.REPLAYED : Result.WAITED);
+                                    return replay(exchange, record);
+                                }
+                                return retry(exchange, chain, key, fingerprint, routeId, config, deadline, attempt);
+                            });
+                });
+    }
+
+    // 25ms 부터 두 배씩, 최대 200ms 간격으로 다시 확인
+    private Mono<Void> retry(ServerWebExchange exchange, GatewayFilterChain chain, String key, String fingerprint,
+                             String routeId, Config config, long deadline, int attempt) {
+        if (System.nanoTime() - deadline > 0) {
+            counters.increment(routeId, Result.CONFLICT);
+            return complete(exchange, HttpStatus.CONFLICT);
+        }
+        Duration backoff = Duration.ofMillis(Math.min(200, 25L << Math.min(attempt, 3)));
+        return Mono.delay(backoff)
+                .then(Mono.defer(() -> handle(exchange, chain, key, fingerprint, routeId, config, deadline,
+                        attempt + 1)));
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, String fingerprint,
+                            Config config) {
+        AtomicBoolean settled = new AtomicBoolean();
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(exchange.getResponse(),
+                response -> {
+                    long length = response.getHeaders().getContentLength();
+                    boolean capture = length < 0 || length <= config.getMaxBodySize();
+                    // 저장할 수 없는 큰 응답은 그대로 내보내고 기록을 지운다
+                    if (!capture && settled.compareAndSet(false, true)) {
+                        release(key);
+                    }
+                    return capture;
+                },
+                (delegate, body) -> {
+                    if (settled.compareAndSet(false, true)) {
+                        store(key, fingerprint, delegate, body, config);
+                    }
+                    return body;
+                });
+        return chain.filter(exchange.mutate().response(decorator).build())
+                .doFinally(signal -> {
+                    if (!settled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    // 본문 없이 끝난 응답(setComplete)은 상태만 저장, 예외나 취소는 기록을 지운다
+                    if (signal == SignalType.ON_COMPLETE) {
+                        store(key, fingerprint, exchange.getResponse(), new byte[0], config);
+                    } else {
+                        release(key);
+                    }
+                });
+    }
+
+    private void store(String key, String fingerprint, ServerHttpResponse response, byte[] body, Config config) {
+        HttpStatus status = response.getStatusCode();
+        int code = status == null ? HttpStatus.OK.value() : status.value();
+        if (code >= 500 || body.length > config.getMaxBodySize()) {
+            release(key);
+            return;
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        String json = encode(new IdempotencyRecord(IdempotencyRecord.DONE, fingerprint, code,
+                contentType == null ? null : contentType.toString(), body));
+        if (json == null) {
+            release(key);
+            return;
+        }
+        reactiveRedisTemplate.opsForValue().set(key, json, config.getTtl())
+                .subscribe(ok -> {}, e -> log.warn("Idempotency record write failed : {}", e.getMessage()));
+    }
+
+    private void release(String key) {
+        reactiveRedisTemplate.delete(key)
+                .subscribe(deleted -> {}, e -> log.warn("Idempotency record delete failed : {}", e.getMessage()));
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, IdempotencyRecord record) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setRawStatusCode(record.getStatus());
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+        byte[] body = record.getBody() == null ? new byte[0] : record.getBody();
+        if (record.getContentType() != null) {
+            response.getHeaders().setContentType(MediaType.parseMediaType(record.getContentType()));
+        }
+        if (body.length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static Mono<Void> complete(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+
+    private static boolean isMutating(HttpMethod method) {
+        return method == HttpMethod.POST || method == HttpMethod.PUT
+                || method == HttpMethod.DELETE || method == HttpMethod.PATCH;
+    }
+
+    // Redis 오류는 empty 로 바꿔서 호출한 쪽이 판단한다
+    private static <T> Mono<Optional<T>> redis(Mono<T> operation) {
+        return operation.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.warn("Idempotency check failed : {}", e.getMessage());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private IdempotencyRecord decode(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String encode(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    enum Result {
+        INVALID,
+        ERROR,
+        FIRST,
+        MISMATCH,
+        REPLAYED,
+        WAITED,
+        CONFLICT
+    }
+}
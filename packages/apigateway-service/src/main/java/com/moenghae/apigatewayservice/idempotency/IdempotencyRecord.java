@@ -0,0 +1,30 @@
+package com.moenghae.apigatewayservice.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Redis 에 JSON 으로 저장하는 Idempotency-Key 처리 상태 (body 는 base64)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    public static final String PENDING = "PENDING";
+    public static final String DONE = "DONE";
+
+    private String state;
+    // 같은 키를 다른 요청에 재사용했는지 확인하는 값 (메서드 + 경로 + 쿼리)
+    private String fingerprint;
+    private int status;
+    private String contentType;
+    private byte[] body;
+
+    public static IdempotencyRecord pending(String fingerprint) {
+        return new IdempotencyRecord(PENDING, fingerprint, 0, null, null);
+    }
+
+    public boolean isDone() {
+        return DONE.equals(state);
+    }
+}
@@ -0,0 +1,107 @@
+package com.moenghae.apigatewayservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+// 게이트웨이에서 검증한 JWT 클레임을 서명된 헤더로 하위 서비스에 전달한다.
+// 하위 서비스는 같은 secret 으로 서명을 확인하고 /send/email 호출 없이 사용자를 식별한다.
+// secret 이 비어 있으면 서명하지 않고(클라이언트가 보낸 식별 헤더 제거만), 하위 서비스는 기존처럼 토큰으로 조회한다.
+@Slf4j
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String EMAIL_HEADER = "X-Auth-Email";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String ANDROID_ID_HEADER = "X-Auth-Android-Id";
+    public static final String ISSUED_AT_HEADER = "X-Auth-Issued-At";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    private static final List<String> IDENTITY_HEADERS =
+            List.of(EMAIL_HEADER, ROLES_HEADER, ANDROID_ID_HEADER, ISSUED_AT_HEADER, SIGNATURE_HEADER);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    @Value("${gateway.identity.secret:}")
+    private String secret;
+
+    private SecretKeySpec keySpec;
+    private boolean enabled;
+
+    // Mac 은 thread-safe 하지 않으므로 스레드마다 하나씩 재사용한다.
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    protected void init() {
+        enabled = secret != null && !secret.isBlank();
+        if (!enabled) {
+            log.warn("gateway.identity.secret is not set, identity headers will not be signed");
+            return;
+        }
+        keySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 클라이언트가 임의로 보낸 식별 헤더 제거
+    public void strip(HttpHeaders headers) {
+        IDENTITY_HEADERS.forEach(headers::remove);
+    }
+
+    // 검증된 클레임으로 식별 헤더 작성
+    public void sign(HttpHeaders headers, Claims claims) {
+        if (!enabled) return;
+        String email = claims.getSubject();
+        String roles = joinRoles(claims.get("roles"));
+        String androidId = claims.get("androidId", String.class);
+        String issuedAt = Long.toString(System.currentTimeMillis() / 1000);
+
+        headers.set(EMAIL_HEADER, email);
+        headers.set(ROLES_HEADER, roles);
+        if (androidId != null) {
+            headers.set(ANDROID_ID_HEADER, androidId);
+        }
+        headers.set(ISSUED_AT_HEADER, issuedAt);
+        headers.set(SIGNATURE_HEADER, signature(email, roles, androidId, issuedAt));
+    }
+
+    public String signature(String email, String roles, String androidId, String issuedAt) {
+        String payload = email + '\n' + roles + '\n' + (androidId == null ? "" : androidId) + '\n' + issuedAt;
+        byte[] digest = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static String joinRoles(Object roles) {
+        if (roles instanceof Collection) {
+            StringBuilder builder = new StringBuilder();
+            for (Object role : (Collection<?>) roles) {
+                if (builder.length() > 0) builder.append(',');
+                builder.append(role);
+            }
+            return builder.toString();
+        }
+        return roles == null ? "" : roles.toString();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(keySpec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize identity signer", e);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.moenghae.apigatewayservice.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.annotation.PostConstruct;
 import java.security.Key;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -30,10 +36,32 @@ public class JwtTokenProvider {
     @Value("${jwt.refreshTokenExpiration}")
     private long refreshTokenValidTime;
 
+    // 검증 완료된 클레임 캐시 최대 개수
+    @Value("${jwt.claims-cache.maximum-size:10000}")
+    private long claimsCacheMaximumSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private Key key;
+    private JwtParser parser;
+    private Cache<TokenDigest, Claims> claimsCache;
+
     // 객체 초기화, secretKey를 Base64로 인코딩한다.
     @PostConstruct // 의존성 주입 후, 초기화를 수행
     protected void init() {
         secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        // 키와 파서는 요청마다 만들지 않고 한 번만 생성해서 재사용 (thread-safe)
+        key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        // 토큰 digest -> 클레임, 토큰의 exp 까지만 보관
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaximumSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
     }
 
     // Access Token 생성.
@@ -50,7 +78,6 @@ public class JwtTokenProvider {
         Claims claims = Jwts.claims().setSubject(email); // claims 생성 및 payload 설정
         claims.put("roles", roles); // 권한 설정, key/ value 쌍으로 저장
 
-        Key key = Keys.hmacShaKeyFor(secretKey.getBytes());
         Date date = new Date();
 
         return Jwts.builder()
@@ -82,14 +109,30 @@ public class JwtTokenProvider {
 
     // 토큰의 유효성 + 만료일자 확인
     public boolean validateToken(String jwtToken) {
-        try {
-            Key key = Keys.hmacShaKeyFor(secretKey.getBytes());
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(jwtToken);
+        return !getClaims(jwtToken).getExpiration().before(new Date());
+    }
 
-            return !claims.getBody().getExpiration().before(new Date());
+    // 서명을 검증한 뒤 토큰의 클레임 반환, 이미 검증한 토큰은 캐시에서 반환
+    public Claims getClaims(String jwtToken) {
+        if (jwtToken == null || jwtToken.isEmpty()) {
+            throw new IllegalArgumentException("JWT claims string is empty");
+        }
+        TokenDigest digest = TokenDigest.of(jwtToken);
+        Claims cached = claimsCache.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parse(jwtToken);
+        if (claims.getExpiration() != null) {
+            claimsCache.put(digest, claims);
+        }
+        return claims;
+    }
+
+    // 캐시를 거치지 않는 서명 + 만료 검증
+    Claims parse(String jwtToken) {
+        try {
+            return parser.parseClaimsJws(jwtToken).getBody();
         } catch (MalformedJwtException e) {
             throw new MalformedJwtException("Invalid JWT token");
         } catch (ExpiredJwtException e) {
@@ -102,4 +145,23 @@ public class JwtTokenProvider {
             throw new SignatureException("JWT signature does not match");
         }
     }
+
+    // 캐시 항목은 토큰 만료 시각에 맞춰 제거
+    private static class ExpireAtTokenExpiration implements Expiry<TokenDigest, Claims> {
+        @Override
+        public long expireAfterCreate(TokenDigest digest, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
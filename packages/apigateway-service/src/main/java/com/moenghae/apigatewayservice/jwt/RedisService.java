@@ -1,66 +1,40 @@
 package com.moenghae.apigatewayservice.jwt;
 
-import io.jsonwebtoken.MalformedJwtException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class RedisService {
 
-    private final RedisTemplate redisTemplate;
-
-    // RefreshToken, email, IP Address 가져오기
-    public Map<String, String> getValues(String token){
-        ValueOperations<String, Map<String, String>> values = redisTemplate.opsForValue();
-        return values.get(token);
-    }
-
-    public void setValues(String token, String email) {
-        ValueOperations<String, Object> operations = redisTemplate.opsForValue();
-        Map<String, String> map = new HashMap<>();
-        map.put("email", email);
-        operations.set(token, map, Duration.ofDays(7)); // 7일 뒤 메모리에서 삭제됨
-    }
-
-    public void setAndroidId(String email, String androidId) {
-        ValueOperations<String, Object> operations = redisTemplate.opsForValue();
-        Map<String, String> map = new HashMap<>();
-        map.put("androidId", androidId);
-        operations.set(email, map, Duration.ofDays(7)); // 7일 뒤 메모리에서 삭제됨
-    }
-
-    public boolean isRefreshTokenValid(String token) {
-        Map<String, String> values = getValues(token);
-        return !values.isEmpty();
+    // user-service RedisService 와 같은 키 (refresh:{refresh 토큰 digest})
+    private static final String REFRESH_KEY_PREFIX = "refresh:";
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final RedisScript<Long> sessionVerdictScript;
+    private final RevokedTokenFilter revokedTokenFilter;
+
+    // refresh 토큰 세션, androidId 바인딩, 블랙리스트를 스크립트 한 번으로 확인
+    public Mono<SessionVerdict> verifyRefreshSession(String refreshToken, String androidId) {
+        return reactiveRedisTemplate.execute(sessionVerdictScript,
+                        List.of(REFRESH_KEY_PREFIX + TokenDigest.of(refreshToken), refreshToken),
+                        List.of(androidId == null ? "" : androidId))
+                .next()
+                .map(SessionVerdict::of)
+                .defaultIfEmpty(SessionVerdict.NO_SESSION);
     }
 
-    public boolean isAndroidIdValid(String token, String androidId) {
-        Map<String, String> tokenValue = getValues(token);
-        String email = tokenValue.get("email");
-
-        if (email != null) {
-            Map<String, String> emailValue = getValues(email);
-            return emailValue.get("androidId").equals(androidId);
-        } else {
-            return false;
-        }
-    }
-
-    public boolean isTokenInBlacklist(String token) {
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(token))) {
-            throw new MalformedJwtException("Invalid JWT token");
+    // 필터에 없으면 블랙리스트가 아니므로 Redis 를 거치지 않는다
+    public Mono<Boolean> isTokenInBlacklist(String token) {
+        if (!revokedTokenFilter.mightContain(TokenDigest.of(token))) {
+            return Mono.just(false);
         }
-        return false;
-    }
-
-    public void delValues(String token) {
-        redisTemplate.delete(token);
+        return reactiveRedisTemplate.hasKey(token)
+                .defaultIfEmpty(false);
     }
 }
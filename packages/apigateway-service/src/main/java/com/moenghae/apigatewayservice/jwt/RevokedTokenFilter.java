@@ -0,0 +1,99 @@
+package com.moenghae.apigatewayservice.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 블랙리스트에 오른 토큰 digest 의 Bloom filter.
+// false 면 블랙리스트에 없는 것이 확실하고, true 일 때만 Redis 에서 다시 확인한다.
+@Component
+public class RevokedTokenFilter {
+
+    @Value("${gateway.blacklist.expected-insertions:100000}")
+    private int expectedInsertions;
+
+    @Value("${gateway.blacklist.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private int bitSize;
+    private int hashCount;
+
+    private volatile AtomicLongArray bits;
+    // Redis 에서 처음 적재하기 전에는 모든 토큰을 Redis 로 확인
+    private volatile boolean ready;
+    // 재적재 도중 pub/sub 으로 들어온 digest 가 교체 시 유실되지 않도록 잠시 보관
+    private final Map<TokenDigest, Long> recent = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    protected void init() {
+        double size = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        bitSize = (int) Math.max(64, Math.ceil(size));
+        hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        bits = newBits();
+    }
+
+    public boolean mightContain(TokenDigest digest) {
+        if (!ready) {
+            return true;
+        }
+        AtomicLongArray current = bits;
+        long combined = digest.high();
+        for (int i = 0; i < hashCount; i++) {
+            int index = (int) ((combined & Long.MAX_VALUE) % bitSize);
+            if ((current.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += digest.low();
+        }
+        return true;
+    }
+
+    public void put(TokenDigest digest) {
+        recent.put(digest, System.currentTimeMillis());
+        set(bits, digest);
+    }
+
+    // Redis 에서 읽은 전체 목록으로 새로 만들어 교체, 만료된 digest 는 이때 빠진다.
+    // loadedAt 은 목록을 읽기 시작한 시각으로, 그 이후에 들어온 digest 는 새 필터에 다시 넣는다.
+    public void reset(Collection<TokenDigest> digests, long loadedAt) {
+        AtomicLongArray rebuilt = newBits();
+        digests.forEach(digest -> set(rebuilt, digest));
+        bits = rebuilt;
+        recent.forEach((digest, receivedAt) -> {
+            if (receivedAt >= loadedAt) {
+                set(rebuilt, digest);
+            } else {
+                recent.remove(digest, receivedAt);
+            }
+        });
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void set(AtomicLongArray target, TokenDigest digest) {
+        long combined = digest.high();
+        for (int i = 0; i < hashCount; i++) {
+            int index = (int) ((combined & Long.MAX_VALUE) % bitSize);
+            int word = index >>> 6;
+            long mask = 1L << index;
+            long value;
+            do {
+                value = target.get(word);
+                if ((value & mask) != 0) break;
+            } while (!target.compareAndSet(word, value, value | mask));
+            combined += digest.low();
+        }
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((bitSize + 63) >>> 6);
+    }
+}
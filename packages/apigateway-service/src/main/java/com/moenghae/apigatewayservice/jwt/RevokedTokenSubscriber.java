@@ -0,0 +1,81 @@
+package com.moenghae.apigatewayservice.jwt;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// user-service 가 블랙리스트에 등록한 토큰을 RevokedTokenFilter 에 반영한다.
+// 시작 시 Redis 인덱스로 채우고 pub/sub 으로 갱신하며, 메시지 유실에 대비해 주기적으로 다시 적재한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevokedTokenSubscriber {
+
+    public static final String BLACKLIST_INDEX_KEY = "blacklist:index";
+    public static final String BLACKLIST_CHANNEL = "token-blacklist";
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final RevokedTokenFilter revokedTokenFilter;
+
+    // 이 주기 안에는 pub/sub 유실 여부와 관계없이 모든 게이트웨이에 반영된다
+    @Value("${gateway.blacklist.resync-interval:60s}")
+    private Duration resyncInterval;
+
+    private final List<Disposable> subscriptions = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscriptions.add(listenerContainer.receive(ChannelTopic.of(BLACKLIST_CHANNEL))
+                .doOnNext(message -> put(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+
+        subscriptions.add(Flux.interval(Duration.ZERO, resyncInterval)
+                .concatMap(tick -> reload()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to load token blacklist : {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.forEach(Disposable::dispose);
+    }
+
+    private Mono<Void> reload() {
+        long loadedAt = System.currentTimeMillis();
+        return reactiveRedisTemplate.opsForZSet()
+                .rangeByScore(BLACKLIST_INDEX_KEY, Range.closed((double) loadedAt, Double.POSITIVE_INFINITY))
+                .map(TokenDigest::fromHex)
+                .collectList()
+                .doOnNext(digests -> revokedTokenFilter.reset(digests, loadedAt))
+                .then();
+    }
+
+    private void put(String hex) {
+        try {
+            revokedTokenFilter.put(TokenDigest.fromHex(hex));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignore malformed blacklist message : {}", hex);
+        }
+    }
+}
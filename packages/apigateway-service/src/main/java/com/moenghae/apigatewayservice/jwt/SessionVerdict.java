@@ -0,0 +1,16 @@
+package com.moenghae.apigatewayservice.jwt;
+
+// session-verdict.lua 의 반환값
+public enum SessionVerdict {
+    VALID,
+    NO_SESSION,
+    ANDROID_ID_MISMATCH,
+    BLACKLISTED;
+
+    public static SessionVerdict of(Long code) {
+        if (code == null || code < 0 || code >= values().length) {
+            return NO_SESSION;
+        }
+        return values()[code.intValue()];
+    }
+}
@@ -0,0 +1,73 @@
+package com.moenghae.apigatewayservice.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// 토큰 원문 대신 캐시 키로 사용하는 SHA-256 digest (앞 128bit 만 보관)
+public final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final long high;
+    private final long low;
+
+    private TokenDigest(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static TokenDigest of(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return new TokenDigest(toLong(hash, 0), toLong(hash, 8));
+    }
+
+    // user-service 가 발행하는 32자리 hex digest
+    public static TokenDigest fromHex(String hex) {
+        if (hex == null || hex.length() != 32) {
+            throw new IllegalArgumentException("Invalid token digest : " + hex);
+        }
+        return new TokenDigest(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16), 16));
+    }
+
+    public long high() {
+        return high;
+    }
+
+    public long low() {
+        return low;
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xffL);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TokenDigest)) return false;
+        TokenDigest that = (TokenDigest) o;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high ^ low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,43 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 같은 객체를 요청 속성(ATTRIBUTE)으로 넘긴 @LoadBalanced WebClient 호출들은 서로 다른 인스턴스로 보낸다.
+// 헤지 요청처럼 느린 인스턴스를 피해야 하는 호출에 사용하며, 남은 인스턴스가 없으면 전체에서 고른다.
+public class DistinctInstances {
+
+    public static final String ATTRIBUTE = DistinctInstances.class.getName();
+
+    private final Set<String> chosen = ConcurrentHashMap.newKeySet();
+
+    // 게이트웨이 라우팅으로 이미 호출한 인스턴스를 제외하고 시작
+    public static DistinctInstances excluding(ServiceInstance instance) {
+        DistinctInstances instances = new DistinctInstances();
+        if (instance != null) {
+            instances.add(instance);
+        }
+        return instances;
+    }
+
+    List<ServiceInstance> remaining(List<ServiceInstance> instances) {
+        if (chosen.isEmpty()) {
+            return instances;
+        }
+        List<ServiceInstance> remaining = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!chosen.contains(InstanceStatsRegistry.key(instance))) {
+                remaining.add(instance);
+            }
+        }
+        return remaining.isEmpty() ? instances : remaining;
+    }
+
+    void add(ServiceInstance instance) {
+        chosen.add(InstanceStatsRegistry.key(instance));
+    }
+}
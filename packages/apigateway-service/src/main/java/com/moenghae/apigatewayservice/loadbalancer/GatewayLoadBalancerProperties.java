@@ -0,0 +1,28 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// gateway.load-balancer.* 설정
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class GatewayLoadBalancerProperties {
+
+    // false 면 기존과 같은 라운드 로빈
+    private boolean latencyAware = true;
+
+    // 지연 시간 EWMA 의 시간 상수, 이 시간이 지나면 이전 값의 영향이 1/e 로 줄어든다
+    private Duration decay = Duration.ofSeconds(10);
+
+    // 5xx / 연결 실패 시 지연 시간으로 간주할 값
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    // 이 시간 동안 호출이 없던 인스턴스는 기록을 버리고 다시 라운드 로빈으로 시작
+    private Duration statsExpiry = Duration.ofMinutes(5);
+}
@@ -0,0 +1,49 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// @LoadBalanced WebClient 호출 하나가 잡은 인스턴스의 진행 중 요청 수.
+// 로드밸런서 필터는 취소된 호출을 lifecycle 에 알리지 않으므로, 취소 시점에 직접 반환한다.
+// lifecycle 의 완료와 취소 중 먼저 온 쪽만 반영한다.
+public class InFlightRequest {
+
+    public static final String ATTRIBUTE = InFlightRequest.class.getName();
+
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private volatile InstanceStats stats;
+
+    // 로드밸런서 필터보다 바깥에 두어야 하므로 @LoadBalanced 빌더를 만들 때 등록한다
+    public static ExchangeFilterFunction cancelTracking() {
+        return (request, next) -> {
+            InFlightRequest inFlight = new InFlightRequest();
+            return next.exchange(ClientRequest.from(request).attribute(ATTRIBUTE, inFlight).build())
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            inFlight.cancel();
+                        }
+                    });
+        };
+    }
+
+    void started(InstanceStats stats) {
+        this.stats = stats;
+    }
+
+    void end(long latencyNanos) {
+        InstanceStats current = stats;
+        if (current != null && ended.compareAndSet(false, true)) {
+            current.end(latencyNanos);
+        }
+    }
+
+    void cancel() {
+        InstanceStats current = stats;
+        if (current != null && ended.compareAndSet(false, true)) {
+            current.discard();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 인스턴스 하나의 진행 중인 요청 수와 지연 시간 EWMA
+class InstanceStats {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long decayNanos;
+
+    private double ewmaNanos;
+    private long updatedAt;
+    private volatile long lastUsedAt = System.nanoTime();
+    private volatile boolean sampled;
+
+    InstanceStats(long decayNanos) {
+        this.decayNanos = decayNanos;
+    }
+
+    void start() {
+        lastUsedAt = System.nanoTime();
+        inFlight.incrementAndGet();
+    }
+
+    // 응답 간격이 불규칙하므로 경과 시간에 따라 가중치를 정한다
+    synchronized void end(long latencyNanos) {
+        decrementInFlight();
+        long now = System.nanoTime();
+        if (!sampled) {
+            ewmaNanos = latencyNanos;
+            sampled = true;
+        } else {
+            double weight = Math.exp(-(double) (now - updatedAt) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        updatedAt = now;
+    }
+
+    // 취소된 요청은 지연 시간을 반영하지 않는다
+    void discard() {
+        decrementInFlight();
+    }
+
+    // 만료로 지워진 뒤 다시 만든 기록에 이전 요청의 완료가 들어와도 음수가 되지 않게 한다
+    private void decrementInFlight() {
+        inFlight.updateAndGet(current -> current > 0 ? current - 1 : 0);
+    }
+
+    boolean isSampled() {
+        return sampled;
+    }
+
+    // 낮을수록 좋다, 대기 중인 요청이 많을수록 비례해서 불리해진다
+    synchronized double score() {
+        return ewmaNanos * (inFlight.get() + 1);
+    }
+
+    double ewmaMillis() {
+        return ewmaNanos / 1_000_000;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    long lastUsedAt() {
+        return lastUsedAt;
+    }
+}
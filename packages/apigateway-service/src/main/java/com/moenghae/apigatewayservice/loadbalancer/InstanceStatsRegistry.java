@@ -0,0 +1,94 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 서비스 인스턴스별 통계와 게이지 (gateway.loadbalancer.*)
+@Component
+public class InstanceStatsRegistry {
+
+    private static final long EXPIRE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final MeterRegistry meterRegistry;
+    private final GatewayLoadBalancerProperties properties;
+    private final Map<String, Entry> stats = new ConcurrentHashMap<>();
+    private final AtomicLong expiredAt = new AtomicLong(System.nanoTime());
+
+    public InstanceStatsRegistry(MeterRegistry meterRegistry, GatewayLoadBalancerProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> register(instance)).stats;
+    }
+
+    // 관찰한 적 없는 인스턴스는 null
+    InstanceStats find(ServiceInstance instance) {
+        Entry entry = stats.get(key(instance));
+        return entry == null ? null : entry.stats;
+    }
+
+    // 오래 쓰이지 않은 인스턴스(교체된 인스턴스 등)의 기록과 게이지 정리.
+    // 요청 시간 제한보다 훨씬 긴 statsExpiry 동안 새 요청이 없었다면 남은 진행 중 요청 수는 반환되지 못한 값이므로 함께 지운다
+    void expire() {
+        long now = System.nanoTime();
+        long last = expiredAt.get();
+        if (now - last < EXPIRE_INTERVAL_NANOS || !expiredAt.compareAndSet(last, now)) {
+            return;
+        }
+        long expiredBefore = now - properties.getStatsExpiry().toNanos();
+        stats.entrySet().removeIf(e -> {
+            if (e.getValue().stats.lastUsedAt() - expiredBefore > 0) {
+                return false;
+            }
+            e.getValue().meters.forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    private Entry register(ServiceInstance instance) {
+        InstanceStats instanceStats = new InstanceStats(properties.getDecay().toNanos());
+        Tags tags = Tags.of("service", instance.getServiceId(), "instance", key(instance));
+        List<Meter> meters = List.of(
+                Gauge.builder("gateway.loadbalancer.score", instanceStats, s -> s.score() / 1_000_000)
+                        .description("Load balancer score per instance (EWMA latency ms x (in-flight + 1))")
+                        .tags(tags)
+                        .register(meterRegistry),
+                Gauge.builder("gateway.loadbalancer.latency.ewma", instanceStats, InstanceStats::ewmaMillis)
+                        .description("EWMA upstream latency per instance in milliseconds")
+                        .tags(tags)
+                        .register(meterRegistry),
+                Gauge.builder("gateway.loadbalancer.inflight", instanceStats, InstanceStats::inFlight)
+                        .description("Requests in flight per instance")
+                        .tags(tags)
+                        .register(meterRegistry));
+        return new Entry(instanceStats, meters);
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static class Entry {
+        private final InstanceStats stats;
+        private final List<Meter> meters;
+
+        Entry(InstanceStats stats, List<Meter> meters) {
+            this.stats = stats;
+            this.meters = meters;
+        }
+    }
+}
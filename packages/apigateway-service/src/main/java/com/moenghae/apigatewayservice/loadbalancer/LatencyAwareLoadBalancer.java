@@ -0,0 +1,96 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 임의의 두 인스턴스 중 점수(EWMA 지연 시간 x (진행 중 요청 + 1))가 낮은 쪽을 고른다.
+// 두 후보 중 하나라도 기록이 없으면 라운드 로빈으로 고르며, 그 호출로 기록이 쌓인다.
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final InstanceStatsRegistry statsRegistry;
+    private final GatewayLoadBalancerProperties properties;
+    private final AtomicInteger position = new AtomicInteger(ThreadLocalRandom.current().nextInt(1000));
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    InstanceStatsRegistry statsRegistry, GatewayLoadBalancerProperties properties) {
+        this.supplierProvider = supplierProvider;
+        this.statsRegistry = statsRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        DistinctInstances distinct = distinctInstances(request);
+        if (distinct == null) {
+            return supplier.get(request).next().map(this::choose);
+        }
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(distinct.remaining(instances));
+            if (response.hasServer()) {
+                distinct.add(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    // @LoadBalanced WebClient 호출에 요청 속성으로 넘긴 DistinctInstances
+    @SuppressWarnings("rawtypes")
+    private static DistinctInstances distinctInstances(Request request) {
+        if (!(request.getContext() instanceof RequestDataContext)) {
+            return null;
+        }
+        RequestDataContext context = (RequestDataContext) request.getContext();
+        if (context.getClientRequest() == null || context.getClientRequest().getAttributes() == null) {
+            return null;
+        }
+        Object distinct = context.getClientRequest().getAttributes().get(DistinctInstances.ATTRIBUTE);
+        return distinct instanceof DistinctInstances ? (DistinctInstances) distinct : null;
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        if (!properties.isLatencyAware()) {
+            return new DefaultResponse(roundRobin(instances));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        InstanceStats aStats = statsRegistry.find(a);
+        InstanceStats bStats = statsRegistry.find(b);
+        if (aStats == null || bStats == null || !aStats.isSampled() || !bStats.isSampled()) {
+            return new DefaultResponse(roundRobin(instances));
+        }
+        return new DefaultResponse(aStats.score() <= bStats.score() ? a : b);
+    }
+
+    private ServiceInstance roundRobin(List<ServiceInstance> instances) {
+        int index = (position.incrementAndGet() & Integer.MAX_VALUE) % instances.size();
+        return instances.get(index);
+    }
+}
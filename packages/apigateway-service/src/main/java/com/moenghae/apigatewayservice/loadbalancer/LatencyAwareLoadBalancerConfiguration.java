@@ -0,0 +1,24 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+// 서비스별 LoadBalancer 자식 컨텍스트에 등록되는 설정.
+// 컴포넌트 스캔에 잡히면 모든 서비스가 같은 빈을 공유하므로 @Configuration 을 붙이지 않는다.
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(
+            Environment environment, LoadBalancerClientFactory clientFactory,
+            InstanceStatsRegistry statsRegistry, GatewayLoadBalancerProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> supplierProvider =
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        return new LatencyAwareLoadBalancer(supplierProvider, statsRegistry, properties);
+    }
+}
@@ -0,0 +1,107 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+// 게이트웨이 라우팅과 @LoadBalanced WebClient 호출 모두에서 인스턴스별 지연 시간과 진행 중 요청 수를 기록
+@Component
+public class LatencyAwareLoadBalancerLifecycle
+        implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final InstanceStatsRegistry statsRegistry;
+    private final GatewayLoadBalancerProperties properties;
+
+    public LatencyAwareLoadBalancerLifecycle(InstanceStatsRegistry statsRegistry,
+                                             GatewayLoadBalancerProperties properties) {
+        this.statsRegistry = statsRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+        statsRegistry.expire();
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        TimedRequestContext context = request.getContext();
+        if (context.getRequestStartTime() == 0) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        InstanceStats stats = statsRegistry.get(lbResponse.getServer());
+        stats.start();
+        InFlightRequest inFlight = inFlightRequest(request.getContext());
+        if (inFlight != null) {
+            inFlight.started(stats);
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        RequestDataContext context = completionContext.getLoadBalancerRequest().getContext();
+        InFlightRequest inFlight = inFlightRequest(context);
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            if (inFlight != null) {
+                inFlight.cancel();
+            } else {
+                InstanceStats stats = statsRegistry.find(lbResponse.getServer());
+                if (stats != null) {
+                    stats.discard();
+                }
+            }
+            return;
+        }
+        long latency = System.nanoTime() - context.getRequestStartTime();
+        if (isFailure(completionContext)) {
+            latency = Math.max(latency, properties.getFailurePenalty().toNanos());
+        }
+        if (inFlight != null) {
+            inFlight.end(latency);
+            return;
+        }
+        InstanceStats stats = statsRegistry.find(lbResponse.getServer());
+        if (stats != null) {
+            stats.end(latency);
+        }
+    }
+
+    // @LoadBalanced WebClient 호출이면 InFlightRequest.cancelTracking 이 요청 속성에 넣은 객체, 게이트웨이 라우팅은 null
+    private static InFlightRequest inFlightRequest(RequestDataContext context) {
+        if (context == null || context.getClientRequest() == null || context.getClientRequest().getAttributes() == null) {
+            return null;
+        }
+        Object inFlight = context.getClientRequest().getAttributes().get(InFlightRequest.ATTRIBUTE);
+        return inFlight instanceof InFlightRequest ? (InFlightRequest) inFlight : null;
+    }
+
+    private static boolean isFailure(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+        if (context.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        ResponseData response = context.getClientResponse();
+        HttpStatus status = response == null ? null : response.getHttpStatus();
+        return status != null && status.is5xxServerError();
+    }
+}
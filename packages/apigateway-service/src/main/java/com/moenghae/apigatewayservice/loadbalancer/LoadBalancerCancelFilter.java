@@ -0,0 +1,53 @@
+package com.moenghae.apigatewayservice.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+// ReactiveLoadBalancerClientFilter 는 성공 / 실패만 lifecycle 에 알리고 취소는 알리지 않는다.
+// 회로 차단기 시간 초과, 헤지에서 진 요청, 클라이언트 중단으로 취소된 요청의 진행 중 요청 수를 여기서 반환한다.
+@Component
+public class LoadBalancerCancelFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry statsRegistry;
+
+    public LoadBalancerCancelFilter(InstanceStatsRegistry statsRegistry) {
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        // ReactiveLoadBalancerClientFilter 바로 앞 (취소는 이 필터를 거쳐 안쪽으로 전달된다)
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        discard(exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR));
+                    }
+                });
+    }
+
+    // 응답 속성은 lifecycle onStartRequest 와 같은 시점에 저장되므로, 있으면 진행 중 요청 수가 올라가 있다
+    private void discard(Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats stats = statsRegistry.find(lbResponse.getServer());
+        if (stats != null) {
+            stats.discard();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.moenghae.apigatewayservice.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// gateway.metrics.* 설정, 라우트 지연 시간 타이머의 백분위수와 SLO 구간
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.metrics")
+public class GatewayMetricsProperties {
+
+    // 클라이언트 측에서 계산해 내보낼 백분위수 (예: 0.5, 0.95, 0.99)
+    private double[] percentiles = {0.5, 0.95, 0.99};
+
+    // Prometheus histogram_quantile 용 버킷 게시 여부
+    private boolean percentileHistogram = true;
+
+    // SLO 경계값, 각 값이 별도 버킷으로 게시된다
+    private List<Duration> slo = new ArrayList<>(List.of(
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(300), Duration.ofSeconds(1)));
+}
@@ -0,0 +1,52 @@
+package com.moenghae.apigatewayservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// 라우트(또는 서비스)별 결과 카운터.
+// 처음 보는 라우트에서 결과 값 전부를 한 번에 등록하고, 이후 요청은 맵 조회와 배열 접근만 한다.
+public class OutcomeCounters<E extends Enum<E>> {
+
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final String description;
+    private final String keyTag;
+    private final E[] outcomes;
+    private final Function<E, Tags> outcomeTags;
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public OutcomeCounters(MeterRegistry meterRegistry, String name, String description, String keyTag,
+                           Class<E> outcomeType, Function<E, Tags> outcomeTags) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        this.description = description;
+        this.keyTag = keyTag;
+        this.outcomes = outcomeType.getEnumConstants();
+        this.outcomeTags = outcomeTags;
+    }
+
+    public void increment(String key, E outcome) {
+        Counter[] registered = counters.get(key);
+        if (registered == null) {
+            registered = counters.computeIfAbsent(key, this::register);
+        }
+        registered[outcome.ordinal()].increment();
+    }
+
+    private Counter[] register(String key) {
+        Counter[] registered = new Counter[outcomes.length];
+        for (E outcome : outcomes) {
+            registered[outcome.ordinal()] = Counter.builder(name)
+                    .description(description)
+                    .tag(keyTag, key)
+                    .tags(outcomeTags.apply(outcome))
+                    .register(meterRegistry);
+        }
+        return registered;
+    }
+}
@@ -0,0 +1,96 @@
+package com.moenghae.apigatewayservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// 라우트 id, 응답 상태별 지연 시간 타이머.
+// gateway.route.requests    : 게이트웨이가 요청을 받은 뒤 응답을 마칠 때까지
+// gateway.route.upstream    : 하위 서비스 호출부터 응답 헤더 수신까지 (UpstreamTimingFilter)
+// gateway.route.internal    : 전체에서 upstream 을 뺀 게이트웨이 내부 처리 시간
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    public static final String UPSTREAM_NANOS_ATTR = RouteMetricsFilter.class.getName() + ".upstreamNanos";
+
+    private final MeterRegistry meterRegistry;
+    private final GatewayMetricsProperties properties;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry, GatewayMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, signal, System.nanoTime() - start));
+    }
+
+    void recordUpstream(ServerWebExchange exchange, long nanos) {
+        exchange.getAttributes().put(UPSTREAM_NANOS_ATTR, nanos);
+        timer("gateway.route.upstream", routeId(exchange), status(exchange, SignalType.ON_COMPLETE))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 게이트웨이가 WebClient 로 직접 보낸 추가 호출(헤지 요청)의 하위 서비스 지연 시간
+    public void recordUpstream(String routeId, int status, long nanos) {
+        timer("gateway.route.upstream", routeId, Integer.toString(status)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long totalNanos) {
+        String routeId = routeId(exchange);
+        String status = status(exchange, signal);
+        timer("gateway.route.requests", routeId, status).record(totalNanos, TimeUnit.NANOSECONDS);
+
+        Long upstreamNanos = exchange.getAttribute(UPSTREAM_NANOS_ATTR);
+        long internalNanos = totalNanos - (upstreamNanos == null ? 0 : upstreamNanos);
+        timer("gateway.route.internal", routeId, status).record(Math.max(internalNanos, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String routeId, String status) {
+        return timers.computeIfAbsent(name + '|' + routeId + '|' + status, key -> Timer.builder(name)
+                .tag("route", routeId)
+                .tag("status", status)
+                .publishPercentiles(properties.getPercentiles())
+                .publishPercentileHistogram(properties.isPercentileHistogram())
+                .serviceLevelObjectives(properties.getSlo().toArray(new Duration[0]))
+                .register(meterRegistry));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route == null ? "none" : route.getId();
+    }
+
+    // 예외로 끝난 요청은 응답 상태가 아직 정해지지 않았으므로 ERROR 로 기록
+    private static String status(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return "ERROR";
+        }
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        return status == null ? "200" : Integer.toString(status.value());
+    }
+}
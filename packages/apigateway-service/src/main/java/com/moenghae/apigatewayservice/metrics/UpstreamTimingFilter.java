@@ -0,0 +1,33 @@
+package com.moenghae.apigatewayservice.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+// NettyRoutingFilter 바로 앞에서 하위 서비스 호출 시간을 잰다.
+// NettyRoutingFilter 는 응답 헤더를 받으면 완료되므로, 본문 전송 시간은 포함되지 않는다.
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    private final RouteMetricsFilter routeMetricsFilter;
+
+    public UpstreamTimingFilter(RouteMetricsFilter routeMetricsFilter) {
+        this.routeMetricsFilter = routeMetricsFilter;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> routeMetricsFilter.recordUpstream(exchange, System.nanoTime() - start));
+    }
+}
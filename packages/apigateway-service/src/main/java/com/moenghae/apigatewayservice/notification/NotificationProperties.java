@@ -0,0 +1,28 @@
+package com.moenghae.apigatewayservice.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// gateway.notifications.* 설정, SSE 알림 스트림
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.notifications")
+public class NotificationProperties {
+
+    // 서비스가 알림을 발행하는 Redis 채널 접두사, 뒤에 사용자 email 이 붙는다
+    private String channelPrefix = "notify:user:";
+
+    // 프록시 / 모바일 망에서 유휴 연결이 끊기지 않도록 보내는 주석 이벤트 주기
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    // 연결마다 클라이언트로 내보내지 못한 알림을 보관하는 최대 개수, 넘으면 오래된 것부터 버린다
+    private int bufferSize = 64;
+
+    // 연결 최대 유지 시간, access 토큰 만료 시각이 더 빠르면 그때 닫는다 (클라이언트는 재연결)
+    private Duration maxDuration = Duration.ofMinutes(30);
+}
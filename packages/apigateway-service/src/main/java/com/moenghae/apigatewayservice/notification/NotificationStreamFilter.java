@@ -0,0 +1,117 @@
+package com.moenghae.apigatewayservice.notification;
+
+import com.moenghae.apigatewayservice.config.AuthorizationHeaderFilter;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 사용자별 SSE 알림 스트림.
+// 서비스가 notify:user:{email} 채널에 발행한 알림을 연결된 클라이언트로 바로 내보낸다.
+// 채널 구독자가 없으면 PUBLISH 결과가 0 이므로, 발행한 서비스는 그때만 FCM 으로 보낸다.
+@Component
+public class NotificationStreamFilter extends AbstractGatewayFilterFactory<NotificationStreamFilter.Config> {
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    // 구독 직후 보내는 주석, 첫 heartbeat 까지 기다리지 않고 헤더와 첫 바이트를 바로 내보낸다
+    private static final byte[] OPENED = ": connected\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final NotificationProperties properties;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+
+    public NotificationStreamFilter(ReactiveRedisMessageListenerContainer listenerContainer,
+                                    NotificationProperties properties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.listenerContainer = listenerContainer;
+        this.properties = properties;
+        Gauge.builder("gateway.notifications.connections", connections, AtomicInteger::get)
+                .description("Open SSE notification streams")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("gateway.notifications.events")
+                .description("Notifications written to SSE streams or dropped on a full buffer")
+                .tag("result", "delivered")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("gateway.notifications.events")
+                .description("Notifications written to SSE streams or dropped on a full buffer")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+    }
+
+    public static class Config {}
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            ServerHttpResponse response = exchange.getResponse();
+            Claims claims = exchange.getAttribute(AuthorizationHeaderFilter.VERIFIED_CLAIMS_ATTR);
+            // refresh 토큰만으로는 스트림을 열 수 없다
+            if (claims == null || claims.getSubject() == null) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return response.setComplete();
+            }
+
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            response.getHeaders().setCacheControl("no-cache");
+            response.getHeaders().set("X-Accel-Buffering", "no");
+
+            Flux<DataBuffer> notifications = listenerContainer
+                    .receive(ChannelTopic.of(properties.getChannelPrefix() + claims.getSubject()))
+                    .map(ReactiveSubscription.Message::getMessage)
+                    // 클라이언트가 느려도 Redis 구독이 밀리지 않도록 연결마다 제한된 버퍼만 둔다
+                    .onBackpressureBuffer(properties.getBufferSize(), dropped -> droppedCounter.increment(),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .map(message -> {
+                        deliveredCounter.increment();
+                        return response.bufferFactory().wrap(event(message));
+                    });
+            Flux<DataBuffer> heartbeats = Flux.interval(properties.getHeartbeat())
+                    .onBackpressureDrop()
+                    .map(tick -> response.bufferFactory().wrap(HEARTBEAT));
+
+            Mono<DataBuffer> opened = Mono.fromSupplier(() -> response.bufferFactory().wrap(OPENED));
+
+            Flux<Mono<DataBuffer>> stream = Flux.concat(opened, Flux.merge(notifications, heartbeats))
+                    .take(streamDuration(claims))
+                    .map(Mono::just)
+                    .doOnSubscribe(subscription -> connections.incrementAndGet())
+                    .doFinally(signal -> connections.decrementAndGet());
+            return response.writeAndFlushWith(stream);
+        });
+    }
+
+    private Duration streamDuration(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return properties.getMaxDuration();
+        }
+        Duration untilExpiry = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis());
+        return untilExpiry.compareTo(properties.getMaxDuration()) < 0 ? untilExpiry : properties.getMaxDuration();
+    }
+
+    // 발행된 메시지는 한 줄 JSON 이므로 data 필드 하나로 보낸다
+    private static byte[] event(String message) {
+        return ("event: notification\ndata: " + message.replace("\n", "\ndata: ") + "\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+package com.moenghae.apigatewayservice.ratelimit;
+
+// 마지막으로 Redis 에서 받은 잔량을 기준으로 로컬에서 남은 토큰을 추정한다.
+// 확실히 여유가 있을 때만 로컬에서 통과시키고, 통과시킨 수는 다음 Redis 호출 때 함께 차감한다.
+class LocalBucket {
+
+    private double tokens;
+    private long syncedAt;
+    private int pending;
+
+    LocalBucket(double capacity) {
+        this.tokens = capacity;
+        this.syncedAt = System.currentTimeMillis();
+    }
+
+    synchronized boolean tryAcquireLocally(RateLimitProperties.Limit limit, double headroom, int maxPending) {
+        if (pending >= maxPending) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        double estimated = Math.min(limit.getBurstCapacity(),
+                tokens + (now - syncedAt) * limit.getReplenishRate() / 1000) - pending;
+        if (estimated - 1 < limit.getBurstCapacity() * headroom) {
+            return false;
+        }
+        pending++;
+        return true;
+    }
+
+    // 로컬에서 통과시켰지만 아직 Redis 에 차감하지 않은 토큰 수
+    synchronized int drainPending() {
+        int drained = pending;
+        pending = 0;
+        return drained;
+    }
+
+    // Redis 호출이 실패해 차감하지 못한 토큰은 다음 호출 때 다시 차감
+    synchronized void restorePending(int drained) {
+        pending += drained;
+    }
+
+    synchronized void sync(long remaining) {
+        tokens = remaining;
+        syncedAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,154 @@
+package com.moenghae.apigatewayservice.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moenghae.apigatewayservice.config.AuthorizationHeaderFilter;
+import com.moenghae.apigatewayservice.metrics.OutcomeCounters;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// 검증된 email 과 AndroidId 헤더 기준의 토큰 버킷 처리율 제한.
+// AuthorizationHeaderFilter 뒤에 등록해야 email 로 제한할 수 있다.
+@Slf4j
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token-bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final RateLimitProperties properties;
+    private final OutcomeCounters<Outcome> counters;
+    private final Cache<String, LocalBucket> localBuckets;
+
+    public RateLimitFilter(ReactiveStringRedisTemplate reactiveRedisTemplate, RateLimitProperties properties,
+                           MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.properties = properties;
+        this.counters = new OutcomeCounters<>(meterRegistry, "gateway.ratelimit.requests",
+                "Requests checked by the gateway rate limiter", "route", Outcome.class, outcome -> outcome.tags);
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterAccess(properties.getLocalExpireAfterAccess())
+                .build();
+    }
+
+    public static class Config {}
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return ((exchange, chain) -> {
+            if (!properties.isEnabled()) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "unknown" : route.getId();
+            RateLimitProperties.Limit limit = properties.getLimit(routeId);
+            List<String> keys = bucketKeys(exchange, routeId);
+
+            LocalBucket bucket = localBuckets.get(String.join("|", keys),
+                    key -> new LocalBucket(limit.getBurstCapacity()));
+            if (bucket.tryAcquireLocally(limit, properties.getLocalHeadroom(), properties.getMaxLocalPending())) {
+                counters.increment(routeId, Outcome.ADMITTED_LOCAL);
+                return chain.filter(exchange);
+            }
+
+            // 로컬에서 이미 통과시킨 요청은 결과와 상관없이 차감하고, 이번 요청은 토큰 1개로 판단
+            int pending = bucket.drainPending();
+            return consume(keys, limit, pending)
+                    .flatMap(result -> {
+                        if (result.isEmpty()) {
+                            // Redis 장애 시에는 요청을 막지 않고, 차감하지 못한 로컬 통과분은 다음 호출로 넘긴다
+                            bucket.restorePending(pending);
+                            counters.increment(routeId, Outcome.ADMITTED_ERROR);
+                            return chain.filter(exchange);
+                        }
+                        List<Long> verdict = result.get();
+                        bucket.sync(verdict.get(1));
+                        if (verdict.get(0) == 1L) {
+                            counters.increment(routeId, Outcome.ADMITTED_REDIS);
+                            return chain.filter(exchange);
+                        }
+                        counters.increment(routeId, Outcome.REJECTED_REDIS);
+                        return reject(exchange, verdict.get(2));
+                    });
+        });
+    }
+
+    // { 허용 여부, 남은 토큰, 재시도까지 ms }, Redis 오류면 empty
+    @SuppressWarnings("unchecked")
+    private Mono<Optional<List<Long>>> consume(List<String> keys, RateLimitProperties.Limit limit, int pending) {
+        return reactiveRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, keys,
+                        List.of(Double.toString(limit.getReplenishRate()),
+                                Integer.toString(limit.getBurstCapacity()),
+                                Integer.toString(pending)))
+                .next()
+                .map(result -> Optional.of((List<Long>) result))
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.warn("Rate limit check failed, request admitted : {}", e.getMessage());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    // 사용자(email)와 기기(AndroidId, 없으면 접속 IP) 버킷
+    private List<String> bucketKeys(ServerWebExchange exchange, String routeId) {
+        ServerHttpRequest request = exchange.getRequest();
+        List<String> keys = new ArrayList<>(2);
+        Claims claims = exchange.getAttribute(AuthorizationHeaderFilter.VERIFIED_CLAIMS_ATTR);
+        if (claims != null && claims.getSubject() != null) {
+            keys.add("rate:" + routeId + ":user:" + claims.getSubject());
+        }
+        String androidId = request.getHeaders().getFirst("AndroidId");
+        if (androidId != null && !androidId.isEmpty()) {
+            keys.add("rate:" + routeId + ":device:" + androidId);
+        } else {
+            InetSocketAddress remoteAddress = request.getRemoteAddress();
+            String address = remoteAddress == null ? "unknown" : remoteAddress.getAddress().getHostAddress();
+            keys.add("rate:" + routeId + ":ip:" + address);
+        }
+        return keys;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, long retryAfterMillis) {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    enum Outcome {
+        ADMITTED_LOCAL("admitted", "local"),
+        ADMITTED_REDIS("admitted", "redis"),
+        ADMITTED_ERROR("admitted", "error"),
+        REJECTED_REDIS("rejected", "redis");
+
+        private final Tags tags;
+
+        Outcome(String outcome, String check) {
+            this.tags = Tags.of("outcome", outcome, "check", check);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.moenghae.apigatewayservice.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// gateway.rate-limit.* 설정, 라우트 id 별 토큰 버킷 크기와 충전 속도
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 라우트 설정이 없을 때 사용하는 기본값
+    private Limit defaultLimit = new Limit();
+
+    private Map<String, Limit> routes = new HashMap<>();
+
+    // 남은 토큰 추정치가 버킷의 이 비율 이상이면 Redis 를 거치지 않고 통과
+    private double localHeadroom = 0.5;
+
+    // Redis 에 반영하지 않고 로컬에서 통과시킬 수 있는 최대 요청 수
+    private int maxLocalPending = 5;
+
+    // 로컬 버킷 상태 보관 개수와 시간
+    private long localMaximumSize = 100_000;
+    private Duration localExpireAfterAccess = Duration.ofMinutes(5);
+
+    public Limit getLimit(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        // 초당 충전되는 토큰 수
+        private double replenishRate = 10;
+        // 버킷 크기 (순간 허용량)
+        private int burstCapacity = 20;
+    }
+}
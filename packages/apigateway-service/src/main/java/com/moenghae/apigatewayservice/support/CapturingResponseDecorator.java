@@ -0,0 +1,73 @@
+package com.moenghae.apigatewayservice.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Predicate;
+
+// 하위 서비스 응답 본문을 모아서 한 번에 처리한 뒤 클라이언트로 내보낸다.
+// capture 조건에 맞지 않는 응답(파일 다운로드 등)은 그대로 흘려보낸다.
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    public interface BodyHandler {
+        // 클라이언트로 보낼 본문을 반환, null 이면 본문 없이 응답
+        byte[] handle(ServerHttpResponse response, byte[] body);
+    }
+
+    private final Predicate<ServerHttpResponse> capture;
+    private final BodyHandler handler;
+
+    public CapturingResponseDecorator(ServerHttpResponse delegate, Predicate<ServerHttpResponse> capture,
+                                      BodyHandler handler) {
+        super(delegate);
+        this.capture = capture;
+        this.handler = handler;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!capture.test(getDelegate())) {
+            return super.writeWith(body);
+        }
+        return DataBufferUtils.join(body)
+                .map(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(bytes -> {
+                    byte[] output = handler.handle(getDelegate(), bytes);
+                    if (output == null) {
+                        getDelegate().getHeaders().setContentLength(0);
+                        return getDelegate().setComplete();
+                    }
+                    getDelegate().getHeaders().setContentLength(output.length);
+                    return super.writeWith(Mono.just(bufferFactory().wrap(output)));
+                });
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(p -> p));
+    }
+
+    // JSON 응답이면서 크기가 제한 이하(또는 알 수 없음)일 때만 본문을 모은다
+    public static Predicate<ServerHttpResponse> jsonBodyUpTo(long maxBytes) {
+        return response -> {
+            MediaType contentType = response.getHeaders().getContentType();
+            if (contentType == null || !contentType.getSubtype().contains("json")) {
+                return false;
+            }
+            long length = response.getHeaders().getContentLength();
+            return length < 0 || length <= maxBytes;
+        };
+    }
+}
@@ -0,0 +1,40 @@
+-- refresh 토큰 세션 검증을 한 번의 왕복으로 처리한다.
+-- KEYS[1] : refresh:{refresh 토큰 digest}, KEYS[2] : refresh token (블랙리스트 / 이전 형식 세션)
+-- ARGV[1] : 요청한 기기의 androidId
+-- return 0 : VALID, 1 : NO_SESSION, 2 : ANDROID_ID_MISMATCH, 3 : BLACKLISTED
+local session = redis.call('HMGET', KEYS[1], 'email', 'androidId')
+if session[1] then
+    -- 블랙리스트 항목은 토큰 키에 true 로 저장된다
+    if redis.call('EXISTS', KEYS[2]) == 1 then
+        return 3
+    end
+    if session[2] ~= ARGV[1] then
+        return 2
+    end
+    return 0
+end
+
+-- user-service 배포 전 JSON 형식으로 저장된 세션 (refresh 토큰 유효기간이 지나면 제거)
+local legacy = redis.call('GET', KEYS[2])
+if not legacy then
+    return 1
+end
+if legacy == 'true' then
+    return 3
+end
+
+local ok, token = pcall(cjson.decode, legacy)
+if not ok or type(token) ~= 'table' or type(token['email']) ~= 'string' then
+    return 1
+end
+
+local binding = redis.call('GET', token['email'])
+if not binding then
+    return 1
+end
+
+local found, device = pcall(cjson.decode, binding)
+if not found or type(device) ~= 'table' or device['androidId'] ~= ARGV[1] then
+    return 2
+end
+return 0
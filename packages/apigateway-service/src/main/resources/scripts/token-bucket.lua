@@ -0,0 +1,39 @@
+-- 여러 토큰 버킷(사용자, 기기)을 한 번에 확인하고 모두 여유가 있을 때만 이번 요청분을 차감한다.
+-- KEYS    : 버킷 키 목록
+-- ARGV[1] : 초당 충전량, ARGV[2] : 버킷 크기
+-- ARGV[3] : 게이트웨이가 로컬에서 이미 통과시킨 요청 수, 허용 여부와 상관없이 차감 (0 아래로는 내려가지 않음)
+-- return  : { 이번 요청 허용 여부(1/0), 남은 토큰 최소값, 재시도까지 ms }
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local pending = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local ttl = math.ceil(capacity / rate * 2) + 1
+
+local filled = {}
+local allowed = 1
+local retryAfter = 0
+for i, key in ipairs(KEYS) do
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(state[1]) or capacity
+    local updatedAt = tonumber(state[2]) or now
+    filled[i] = math.max(0, math.min(capacity, tokens + math.max(0, now - updatedAt) * rate / 1000) - pending)
+    if filled[i] < 1 then
+        allowed = 0
+        retryAfter = math.max(retryAfter, math.ceil((1 - filled[i]) * 1000 / rate))
+    end
+end
+
+local remaining = capacity
+for i, key in ipairs(KEYS) do
+    local tokens = filled[i]
+    if allowed == 1 then
+        tokens = tokens - 1
+    end
+    remaining = math.min(remaining, tokens)
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+    redis.call('EXPIRE', key, ttl)
+end
+
+return { allowed, math.floor(remaining), retryAfter }
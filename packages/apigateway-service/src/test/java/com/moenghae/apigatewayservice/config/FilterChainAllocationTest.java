@@ -0,0 +1,89 @@
+package com.moenghae.apigatewayservice.config;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 필터 체인의 요청당 할당량이 filter-chain-allocation-budget.properties 의 기록값을 넘으면 실패한다.
+// 변경으로 할당이 줄었으면 FilterChainBenchmark(gc.alloc.rate.norm)로 확인한 뒤 기록값을 낮춘다.
+// 할당량 측정은 JIT 상태에 따라 달라질 수 있어 test 와 다른 JVM 인 allocationTest 태스크에서 실행한다 (check / build 에 포함).
+class FilterChainAllocationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FilterChainAllocationTest.class);
+
+    private static final int WARMUP = 20_000;
+    private static final int ROUNDS = 5;
+    private static final int REQUESTS_PER_ROUND = 2_000;
+
+    private static FilterChainFixture fixture;
+    private static Properties budget;
+    private static com.sun.management.ThreadMXBean threadMXBean;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        fixture = new FilterChainFixture();
+        budget = new Properties();
+        try (InputStream in = FilterChainAllocationTest.class
+                .getResourceAsStream("/filter-chain-allocation-budget.properties")) {
+            budget.load(in);
+        }
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    @Tag("allocation")
+    @ParameterizedTest
+    @EnumSource(FilterChainFixture.Scenario.class)
+    void allocationPerRequestStaysWithinBudget(FilterChainFixture.Scenario scenario) {
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        long limit = Long.parseLong(budget.getProperty(scenario.name()));
+
+        for (int i = 0; i < WARMUP; i++) {
+            fixture.run(fixture.exchange(scenario));
+        }
+        // JIT, GC 타이밍에 따른 흔들림을 줄이기 위해 여러 번 재서 가장 작은 값을 사용
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            best = Math.min(best, measure(scenario));
+        }
+        log.info("filter chain allocation {} : {} bytes/request (budget {})", scenario, best, limit);
+        assertThat(best).as("bytes allocated per %s request (budget %d)", scenario, limit)
+                .isLessThanOrEqualTo(limit);
+    }
+
+    @Test
+    void scenariosCompleteAsExpected() {
+        assertThat(fixture.run(fixture.exchange(FilterChainFixture.Scenario.PUBLIC))).isTrue();
+        assertThat(fixture.run(fixture.exchange(FilterChainFixture.Scenario.ACCESS))).isTrue();
+        assertThat(fixture.run(fixture.exchange(FilterChainFixture.Scenario.REFRESH))).isTrue();
+        assertThat(fixture.run(fixture.exchange(FilterChainFixture.Scenario.BLACKLISTED))).isFalse();
+    }
+
+    // exchange 생성은 측정에서 빼고 체인 실행분만 잰다
+    private long measure(FilterChainFixture.Scenario scenario) {
+        ServerWebExchange[] exchanges = new ServerWebExchange[REQUESTS_PER_ROUND];
+        for (int i = 0; i < exchanges.length; i++) {
+            exchanges[i] = fixture.exchange(scenario);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (ServerWebExchange exchange : exchanges) {
+            fixture.run(exchange);
+        }
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+        return (after - before) / REQUESTS_PER_ROUND;
+    }
+}
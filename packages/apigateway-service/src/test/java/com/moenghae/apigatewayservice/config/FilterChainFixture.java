@@ -0,0 +1,177 @@
+package com.moenghae.apigatewayservice.config;
+
+import com.moenghae.apigatewayservice.jwt.IdentityHeaderSigner;
+import com.moenghae.apigatewayservice.jwt.JwtTokenProvider;
+import com.moenghae.apigatewayservice.jwt.RedisService;
+import com.moenghae.apigatewayservice.jwt.RevokedTokenFilter;
+import com.moenghae.apigatewayservice.jwt.SessionVerdict;
+import com.moenghae.apigatewayservice.jwt.TokenDigest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.i18n.LocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import org.springframework.web.server.session.WebSessionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GlobalFilter -> AuthorizationHeaderFilter 체인을 Redis 없이 실행하는 고정 환경.
+// JMH 벤치마크(src/jmh)와 할당량 테스트가 같은 시나리오를 사용한다.
+public class FilterChainFixture {
+
+    public enum Scenario {
+        // 인증 없이 통과하는 경로
+        PUBLIC,
+        // 유효한 access 토큰 (클레임 캐시 hit)
+        ACCESS,
+        // access 토큰 없이 refresh 토큰 + AndroidId 로 세션 확인
+        REFRESH,
+        // 블랙리스트에 오른 access 토큰, MyWebExceptionHandler 로 넘어가는 오류로 끝난다
+        BLACKLISTED
+    }
+
+    private static final String SECRET = "meonghae-benchmark-secret-key-must-be-long-enough-for-hs256";
+    private static final String ANDROID_ID = "benchmark-android-id";
+
+    private final List<GatewayFilter> filters;
+    private final WebSessionManager sessionManager = new DefaultWebSessionManager();
+    private final ServerCodecConfigurer codecConfigurer = ServerCodecConfigurer.create();
+    private final LocaleContextResolver localeContextResolver = new AcceptHeaderLocaleContextResolver();
+    private final String accessToken;
+    private final String refreshToken;
+    private final String blacklistedToken;
+
+    public FilterChainFixture() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenValidTime", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenValidTime", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(jwtTokenProvider, "claimsCacheMaximumSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init");
+
+        IdentityHeaderSigner identityHeaderSigner = new IdentityHeaderSigner();
+        ReflectionTestUtils.setField(identityHeaderSigner, "secret", SECRET);
+        ReflectionTestUtils.invokeMethod(identityHeaderSigner, "init");
+
+        accessToken = jwtTokenProvider.createAccessToken("benchmark@meonghae.site", "USER");
+        refreshToken = jwtTokenProvider.createRefreshToken("benchmark@meonghae.site", "USER");
+        blacklistedToken = jwtTokenProvider.createAccessToken("revoked@meonghae.site", "USER");
+
+        RevokedTokenFilter revokedTokenFilter = new RevokedTokenFilter();
+        ReflectionTestUtils.setField(revokedTokenFilter, "expectedInsertions", 100_000);
+        ReflectionTestUtils.setField(revokedTokenFilter, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.invokeMethod(revokedTokenFilter, "init");
+        revokedTokenFilter.reset(List.of(TokenDigest.of(blacklistedToken)), System.currentTimeMillis());
+
+        RedisService redisService = new RedisService(new StubRedisTemplate(blacklistedToken),
+                RedisScript.of(new ClassPathResource("scripts/session-verdict.lua"), Long.class),
+                revokedTokenFilter);
+        AuthorizationHeaderFilter authorizationHeaderFilter = new AuthorizationHeaderFilter(
+                jwtTokenProvider, redisService, identityHeaderSigner, new SimpleMeterRegistry());
+
+        GlobalFilter.Config globalConfig = new GlobalFilter.Config();
+        globalConfig.setBaseMessage("Spring Cloud Gateway GlobalFilter");
+        globalConfig.setPreLogger(true);
+        globalConfig.setPostLogger(true);
+        filters = List.of(
+                new GlobalFilter().apply(globalConfig),
+                authorizationHeaderFilter.apply(new AuthorizationHeaderFilter.Config()));
+    }
+
+    // MockServerWebExchange.from 은 요청마다 코덱 설정과 세션 매니저를 새로 만들어 체인보다 무거우므로 공유한다
+    public ServerWebExchange exchange(Scenario scenario) {
+        return new DefaultServerWebExchange(request(scenario), new MockServerHttpResponse(),
+                sessionManager, codecConfigurer, localeContextResolver);
+    }
+
+    private MockServerHttpRequest request(Scenario scenario) {
+        switch (scenario) {
+            case PUBLIC:
+                return MockServerHttpRequest
+                        .get("/user-service/login?email=benchmark@meonghae.site")
+                        .header("AndroidId", ANDROID_ID)
+                        .build();
+            case ACCESS:
+                return MockServerHttpRequest
+                        .get("/community-service/boards/1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .header("AndroidId", ANDROID_ID)
+                        .build();
+            case REFRESH:
+                return MockServerHttpRequest
+                        .get("/user-service/reissue")
+                        .header("refreshToken", "Bearer " + refreshToken)
+                        .header("AndroidId", ANDROID_ID)
+                        .build();
+            default:
+                return MockServerHttpRequest
+                        .get("/community-service/boards/1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + blacklistedToken)
+                        .header("AndroidId", ANDROID_ID)
+                        .build();
+        }
+    }
+
+    // 체인 끝(하위 서비스 호출)은 바로 완료되는 것으로 대체, 오류로 끝난 요청은 false
+    public boolean run(ServerWebExchange exchange) {
+        Boolean completed = new Chain(filters, 0).filter(exchange)
+                .thenReturn(Boolean.TRUE)
+                .onErrorReturn(Boolean.FALSE)
+                .block();
+        return Boolean.TRUE.equals(completed);
+    }
+
+    private static class Chain implements GatewayFilterChain {
+        private final List<GatewayFilter> filters;
+        private final int index;
+
+        Chain(List<GatewayFilter> filters, int index) {
+            this.filters = filters;
+            this.index = index;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            if (index == filters.size()) {
+                return Mono.empty();
+            }
+            return filters.get(index).filter(exchange, new Chain(filters, index + 1));
+        }
+    }
+
+    // 세션은 항상 VALID, 블랙리스트 조회는 지정한 토큰만 true
+    private static class StubRedisTemplate extends ReactiveStringRedisTemplate {
+        private final String blacklistedToken;
+
+        StubRedisTemplate(String blacklistedToken) {
+            super(new LettuceConnectionFactory());
+            this.blacklistedToken = blacklistedToken;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Flux<T> execute(RedisScript<T> script, List<String> keys, List<?> args) {
+            return Flux.just((T) Long.valueOf(SessionVerdict.VALID.ordinal()));
+        }
+
+        @Override
+        public Mono<Boolean> hasKey(String key) {
+            return Mono.just(blacklistedToken.equals(key));
+        }
+    }
+}
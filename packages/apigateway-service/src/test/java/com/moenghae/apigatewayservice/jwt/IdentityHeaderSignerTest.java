@@ -0,0 +1,95 @@
+package com.moenghae.apigatewayservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 하위 서비스의 GatewayIdentityVerifierTest 와 같은 secret / 기대 서명값을 사용한다.
+// 한쪽 서명 형식이 바뀌면 양쪽 테스트가 함께 깨진다.
+class IdentityHeaderSignerTest {
+
+    static final String SECRET = "meonghae-identity-test-secret";
+    static final String KNOWN_SIGNATURE = "PXVXy-UXscSYkbLSdc-qwKK6D2Og4RU0uz6eLGEPOqI";
+
+    @Test
+    void signatureMatchesKnownVector() {
+        IdentityHeaderSigner signer = signer(SECRET);
+
+        assertThat(signer.signature("user@meonghae.site", "USER", "android-1", "1700000000"))
+                .isEqualTo(KNOWN_SIGNATURE);
+    }
+
+    @Test
+    void signWritesHeadersThatRoundTrip() {
+        IdentityHeaderSigner signer = signer(SECRET);
+        HttpHeaders headers = new HttpHeaders();
+
+        signer.sign(headers, claims("user@meonghae.site", "USER", "android-1"));
+
+        assertThat(headers.getFirst(IdentityHeaderSigner.EMAIL_HEADER)).isEqualTo("user@meonghae.site");
+        assertThat(headers.getFirst(IdentityHeaderSigner.ROLES_HEADER)).isEqualTo("USER");
+        assertThat(headers.getFirst(IdentityHeaderSigner.ANDROID_ID_HEADER)).isEqualTo("android-1");
+        assertThat(headers.getFirst(IdentityHeaderSigner.SIGNATURE_HEADER)).isEqualTo(signer.signature(
+                "user@meonghae.site", "USER", "android-1",
+                headers.getFirst(IdentityHeaderSigner.ISSUED_AT_HEADER)));
+    }
+
+    @Test
+    void tamperedFieldChangesSignature() {
+        IdentityHeaderSigner signer = signer(SECRET);
+
+        assertThat(signer.signature("admin@meonghae.site", "USER", "android-1", "1700000000"))
+                .isNotEqualTo(KNOWN_SIGNATURE);
+        assertThat(signer.signature("user@meonghae.site", "ADMIN", "android-1", "1700000000"))
+                .isNotEqualTo(KNOWN_SIGNATURE);
+        assertThat(signer.signature("user@meonghae.site", "USER", "android-1", "1700000001"))
+                .isNotEqualTo(KNOWN_SIGNATURE);
+        assertThat(signer(SECRET + "-other").signature("user@meonghae.site", "USER", "android-1", "1700000000"))
+                .isNotEqualTo(KNOWN_SIGNATURE);
+    }
+
+    @Test
+    void stripRemovesClientSuppliedIdentityHeaders() {
+        IdentityHeaderSigner signer = signer(SECRET);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(IdentityHeaderSigner.EMAIL_HEADER, "victim@meonghae.site");
+        headers.set(IdentityHeaderSigner.ROLES_HEADER, "ADMIN");
+        headers.set(IdentityHeaderSigner.ANDROID_ID_HEADER, "android-1");
+        headers.set(IdentityHeaderSigner.ISSUED_AT_HEADER, "1700000000");
+        headers.set(IdentityHeaderSigner.SIGNATURE_HEADER, KNOWN_SIGNATURE);
+        headers.set(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        signer.strip(headers);
+
+        assertThat(headers.keySet()).containsExactly(HttpHeaders.AUTHORIZATION);
+    }
+
+    @Test
+    void blankSecretDisablesSigning() {
+        IdentityHeaderSigner signer = signer("");
+        HttpHeaders headers = new HttpHeaders();
+
+        signer.sign(headers, claims("user@meonghae.site", "USER", "android-1"));
+
+        assertThat(signer.isEnabled()).isFalse();
+        assertThat(headers).isEmpty();
+    }
+
+    private static IdentityHeaderSigner signer(String secret) {
+        IdentityHeaderSigner signer = new IdentityHeaderSigner();
+        ReflectionTestUtils.setField(signer, "secret", secret);
+        ReflectionTestUtils.invokeMethod(signer, "init");
+        return signer;
+    }
+
+    private static Claims claims(String email, String roles, String androidId) {
+        Claims claims = Jwts.claims().setSubject(email);
+        claims.put("roles", roles);
+        claims.put("androidId", androidId);
+        return claims;
+    }
+}
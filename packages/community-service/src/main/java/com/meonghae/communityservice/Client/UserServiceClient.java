@@ -2,12 +2,17 @@ package com.meonghae.communityservice.Client;
 
 import com.meonghae.communityservice.Config.FeignHeaderConfig;
 import com.meonghae.communityservice.Dto.FcmDto.FcmDto;
+import com.meonghae.communityservice.Dto.UserDto.UserProfileDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 @FeignClient(name = "user-service", configuration = {FeignHeaderConfig.class})
 public interface UserServiceClient {
     @GetMapping("/send/email")
@@ -18,4 +23,7 @@ public interface UserServiceClient {
 
     @GetMapping("/send/token")
     FcmDto getFCMToken(@RequestParam String email);
+
+    @PostMapping("/send/profiles")
+    List<UserProfileDto> getProfiles(@RequestBody List<String> emails);
 }
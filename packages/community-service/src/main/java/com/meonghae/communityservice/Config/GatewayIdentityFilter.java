@@ -0,0 +1,61 @@
+package com.meonghae.communityservice.Config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 게이트웨이가 JWT 검증 후 서명해서 넘겨준 식별 헤더를 확인한다.
+// 서명이 맞으면 요청 attribute 에 email 을 저장하고, 아니면 헤더를 무시한다.
+@Slf4j
+@Component
+public class GatewayIdentityFilter extends OncePerRequestFilter {
+
+    public static final String VERIFIED_EMAIL_ATTRIBUTE = "gateway.identity.email";
+
+    private final GatewayIdentityVerifier verifier;
+
+    public GatewayIdentityFilter(@Value("${gateway.identity.secret:}") String secret,
+                                 @Value("${gateway.identity.max-skew-seconds:60}") long maxSkewSeconds) {
+        this.verifier = new GatewayIdentityVerifier(secret, maxSkewSeconds);
+        if (!verifier.isEnabled()) {
+            log.warn("gateway.identity.secret is not set, identity headers are ignored");
+        }
+    }
+
+    // 현재 요청에서 게이트웨이가 검증한 email, 없으면 null
+    public static String verifiedEmail() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+        return (String) attributes.getAttribute(VERIFIED_EMAIL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String email = request.getHeader(GatewayIdentityVerifier.EMAIL_HEADER);
+        String signature = request.getHeader(GatewayIdentityVerifier.SIGNATURE_HEADER);
+
+        if (email != null && signature != null) {
+            boolean valid = verifier.verify(email,
+                    request.getHeader(GatewayIdentityVerifier.ROLES_HEADER),
+                    request.getHeader(GatewayIdentityVerifier.ANDROID_ID_HEADER),
+                    request.getHeader(GatewayIdentityVerifier.ISSUED_AT_HEADER),
+                    signature, System.currentTimeMillis() / 1000);
+            if (valid) {
+                request.setAttribute(VERIFIED_EMAIL_ATTRIBUTE, email);
+            } else {
+                log.warn("Gateway identity signature mismatch : {}", request.getRequestURI());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
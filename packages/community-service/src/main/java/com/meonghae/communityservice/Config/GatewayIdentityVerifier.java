@@ -0,0 +1,76 @@
+package com.meonghae.communityservice.Config;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// 게이트웨이 IdentityHeaderSigner 가 만든 식별 헤더 서명 검증.
+// community-service / profile-service 에 같은 내용(package 만 다름)으로 두고,
+// GatewayIdentityVerifierTest 의 기대 서명값은 게이트웨이 IdentityHeaderSignerTest 와 같아야 한다.
+public class GatewayIdentityVerifier {
+
+    public static final String EMAIL_HEADER = "X-Auth-Email";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String ANDROID_ID_HEADER = "X-Auth-Android-Id";
+    public static final String ISSUED_AT_HEADER = "X-Auth-Issued-At";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec keySpec;
+    private final long maxSkewSeconds;
+
+    // Mac 은 thread-safe 하지 않으므로 스레드마다 하나씩 재사용한다.
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    // secret 이 비어 있으면 어떤 헤더도 인정하지 않는다
+    public GatewayIdentityVerifier(String secret, long maxSkewSeconds) {
+        this.keySpec = secret == null || secret.isBlank()
+                ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxSkewSeconds = maxSkewSeconds;
+    }
+
+    public boolean isEnabled() {
+        return keySpec != null;
+    }
+
+    public boolean verify(String email, String roles, String androidId, String issuedAt,
+                          String signature, long nowSeconds) {
+        if (!isEnabled() || email == null || issuedAt == null || signature == null) return false;
+
+        // 오래된 헤더 재사용 방지
+        try {
+            long skew = Math.abs(nowSeconds - Long.parseLong(issuedAt));
+            if (skew > maxSkewSeconds) return false;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        String payload = email + '\n' + nullToEmpty(roles) + '\n' + nullToEmpty(androidId) + '\n' + issuedAt;
+        byte[] expected = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(keySpec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize gateway identity verifier", e);
+        }
+    }
+}
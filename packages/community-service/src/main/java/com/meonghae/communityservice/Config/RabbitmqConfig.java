@@ -0,0 +1,48 @@
+package com.meonghae.communityservice.Config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// user-service 회원 이벤트 구독 (outbox relay 가 meonghae.user exchange 로 발행)
+@Configuration
+public class RabbitmqConfig {
+    public static final String USER_EXCHANGE = "meonghae.user";
+    public static final String USER_UPDATED_QUEUE = "community.user.updated";
+    public static final String USER_DELETED_QUEUE = "community.user.deleted";
+
+    @Bean
+    public TopicExchange userExchange() {
+        return new TopicExchange(USER_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue userUpdatedQueue() {
+        return new Queue(USER_UPDATED_QUEUE, true);
+    }
+
+    @Bean
+    public Queue userDeletedQueue() {
+        return new Queue(USER_DELETED_QUEUE, true);
+    }
+
+    @Bean
+    public Binding userUpdatedBinding(TopicExchange userExchange, Queue userUpdatedQueue) {
+        return BindingBuilder.bind(userUpdatedQueue).to(userExchange).with("user.updated");
+    }
+
+    @Bean
+    public Binding userDeletedBinding(TopicExchange userExchange, Queue userDeletedQueue) {
+        return BindingBuilder.bind(userDeletedQueue).to(userExchange).with("user.deleted");
+    }
+
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
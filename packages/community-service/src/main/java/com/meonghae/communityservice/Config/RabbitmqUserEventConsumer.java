@@ -0,0 +1,28 @@
+package com.meonghae.communityservice.Config;
+
+import com.meonghae.communityservice.Dto.EventDto.UserDeletedEvent;
+import com.meonghae.communityservice.Dto.EventDto.UserUpdatedEvent;
+import com.meonghae.communityservice.Service.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+// 회원 닉네임 / 프로필 사진 / FCM 토큰 캐시에서 바뀐 회원의 키만 지운다
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RabbitmqUserEventConsumer {
+    private final RedisService redisService;
+
+    @RabbitListener(queues = RabbitmqConfig.USER_UPDATED_QUEUE)
+    public void receiveUserUpdated(UserUpdatedEvent event) {
+        redisService.evictUser(event.getEmail(), event.isProfileImageChanged());
+    }
+
+    @RabbitListener(queues = RabbitmqConfig.USER_DELETED_QUEUE)
+    public void receiveUserDeleted(UserDeletedEvent event) {
+        log.info("UserDeleted {} (purged = {})", event.getEmail(), event.isPurged());
+        redisService.evictDeletedUser(event.getEmail());
+    }
+}
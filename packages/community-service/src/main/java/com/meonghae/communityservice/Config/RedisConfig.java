@@ -25,6 +25,12 @@ public class RedisConfig extends CachingConfigurerSupport {
     private int port;
     @Value("${spring.redis.timeout}")
     private int timeout;
+    @Value("${cacheName.getByEmail}")
+    private String byEmail;
+    @Value("${cacheName.getProfile}")
+    private String getProfile;
+    @Value("${cacheTtl.userProfile}")
+    private Duration userProfileTtl;
 
     @Bean
     public RedisConnectionFactory connectionFactory() {
@@ -49,6 +55,9 @@ public class RedisConfig extends CachingConfigurerSupport {
         return RedisCacheManager.RedisCacheManagerBuilder
                 .fromConnectionFactory(connectionFactory)
                 .cacheDefaults(configuration)
+                // 닉네임, 프로필 사진은 UserUpdated / UserDeleted 이벤트로 지우므로 기본 TTL 보다 길게 둔다
+                .withCacheConfiguration(byEmail, configuration.entryTtl(userProfileTtl))
+                .withCacheConfiguration(getProfile, configuration.entryTtl(userProfileTtl))
                 .build();
     }
 }
@@ -0,0 +1,9 @@
+package com.meonghae.communityservice.Dto.EventDto;
+
+import lombok.Data;
+
+@Data
+public class UserDeletedEvent {
+    private String email;
+    private boolean purged;
+}
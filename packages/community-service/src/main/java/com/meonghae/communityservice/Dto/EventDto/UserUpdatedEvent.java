@@ -0,0 +1,10 @@
+package com.meonghae.communityservice.Dto.EventDto;
+
+import lombok.Data;
+
+@Data
+public class UserUpdatedEvent {
+    private String email;
+    private String nickname;
+    private boolean profileImageChanged;
+}
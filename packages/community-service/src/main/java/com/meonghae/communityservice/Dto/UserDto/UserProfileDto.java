@@ -0,0 +1,14 @@
+package com.meonghae.communityservice.Dto.UserDto;
+
+import lombok.Data;
+
+@Data
+public class UserProfileDto {
+    private String email;
+
+    private String nickname;
+
+    private boolean deleted;
+
+    private String profileImageUrl;
+}
@@ -1,7 +1,7 @@
 package com.meonghae.communityservice.Service;
 
-import com.meonghae.communityservice.Client.UserServiceClient;
 import com.meonghae.communityservice.Dto.CommentDto.*;
+import com.meonghae.communityservice.Dto.UserDto.UserProfileDto;
 import com.meonghae.communityservice.Entity.Board.Board;
 import com.meonghae.communityservice.Entity.Board.BoardComment;
 import com.meonghae.communityservice.Exception.Custom.BoardException;
@@ -17,7 +17,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -27,7 +29,8 @@ public class BoardCommentService {
     private final BoardRepository boardRepository;
     private final BoardCommentRepository commentRepository;
     private final RedisService redisService;
-    private final UserServiceClient userService;
+    private final UserIdentityService userService;
+    private final NotificationService notificationService;
 
     @Transactional
     public Slice<CommentParentDto> getParentComments(int page, Long boardId) {
@@ -35,8 +38,10 @@ public class BoardCommentService {
                 .orElseThrow(() -> new BoardException(ErrorCode.BAD_REQUEST, "board is not exist"));
         PageRequest request = PageRequest.of(page - 1, 20, Sort.by(Sort.Direction.DESC, "id"));
         Slice<BoardComment> comments = commentRepository.findByBoardAndParentIsNull(request, board);
+        Map<String, UserProfileDto> profiles = redisService.getProfiles(
+                comments.getContent().stream().map(BoardComment::getEmail).collect(Collectors.toList()));
         Slice<CommentParentDto> dtoPage = comments.map(comment -> {
-            String url = redisService.getProfileImage(comment.getEmail());
+            String url = profiles.get(comment.getEmail()).getProfileImageUrl();
             return Objects.equals(comment.getEmail(), board.getEmail()) ?
                     new CommentParentDto(comment, url, true) : new CommentParentDto(comment, url, false);
         });
@@ -51,8 +56,10 @@ public class BoardCommentService {
         }
         PageRequest request = PageRequest.of(page - 1, 20, Sort.by(Sort.Direction.ASC, "id"));
         Slice<BoardComment> childComments = commentRepository.findByParent(request, parent);
+        Map<String, UserProfileDto> profiles = redisService.getProfiles(
+                childComments.getContent().stream().map(BoardComment::getEmail).collect(Collectors.toList()));
         Slice<CommentChildDto> dtoPage = childComments.map(comment -> {
-            String url = redisService.getProfileImage(comment.getEmail());
+            String url = profiles.get(comment.getEmail()).getProfileImageUrl();
             return Objects.equals(comment.getBoard().getEmail(), comment.getEmail()) ?
                     new CommentChildDto(comment, url, true) : new CommentChildDto(comment, url, false);
         });
@@ -65,6 +72,11 @@ public class BoardCommentService {
                 .orElseThrow(() -> new BoardException(ErrorCode.BAD_REQUEST, "board is not exist"));
         BoardComment parent = createComment(findBoard, requestDto, token);
         commentRepository.save(parent);
+        // 게시글 작성자에게 새 댓글 알림
+        if (!Objects.equals(findBoard.getEmail(), parent.getEmail())) {
+            notificationService.publishAfterCommit(findBoard.getEmail(), "COMMENT",
+                    Map.of("boardId", findBoard.getId(), "commentId", parent.getId()));
+        }
     }
 
     @Transactional
@@ -77,6 +89,11 @@ public class BoardCommentService {
         BoardComment child = createComment(parent.getBoard(), requestDto, token);
         commentRepository.save(child);
         parent.addReply(child);
+        // 부모 댓글 작성자에게 답글 알림
+        if (!Objects.equals(parent.getEmail(), child.getEmail())) {
+            notificationService.publishAfterCommit(parent.getEmail(), "REPLY",
+                    Map.of("boardId", parent.getBoard().getId(), "commentId", child.getId()));
+        }
     }
 
     @Transactional
@@ -1,6 +1,5 @@
 package com.meonghae.communityservice.Service;
 
-import com.meonghae.communityservice.Client.UserServiceClient;
 import com.meonghae.communityservice.Entity.Board.Board;
 import com.meonghae.communityservice.Entity.Board.BoardLike;
 import com.meonghae.communityservice.Exception.Custom.BoardException;
@@ -21,7 +20,7 @@ import static com.meonghae.communityservice.Exception.Error.ErrorCode.BAD_REQUES
 public class BoardLikeService {
     private final BoardLikeRepository likeRepository;
     private final BoardRepository boardRepository;
-    private final UserServiceClient userService;
+    private final UserIdentityService userService;
 
     @Transactional
     public String addLike(Long id, String token) {
@@ -1,11 +1,11 @@
 package com.meonghae.communityservice.Service;
 
 import com.meonghae.communityservice.Client.S3ServiceClient;
-import com.meonghae.communityservice.Client.UserServiceClient;
 import com.meonghae.communityservice.Dto.BoardDto.*;
 import com.meonghae.communityservice.Dto.S3Dto.S3RequestDto;
 import com.meonghae.communityservice.Dto.S3Dto.S3ResponseDto;
 import com.meonghae.communityservice.Dto.S3Dto.S3UpdateDto;
+import com.meonghae.communityservice.Dto.UserDto.UserProfileDto;
 import com.meonghae.communityservice.Entity.Board.Board;
 import com.meonghae.communityservice.Entity.Board.QBoard;
 import com.meonghae.communityservice.Enum.BoardType;
@@ -36,7 +36,7 @@ public class BoardService {
     private final BoardLikeService likeService;
     private final JPAQueryFactory jpaQueryFactory;
     private final RedisService redisService;
-    private final UserServiceClient userService;
+    private final UserIdentityService userService;
     private final S3ServiceClient s3Service;
 
     @Transactional
@@ -45,10 +45,10 @@ public class BoardService {
         PageRequest request = PageRequest.of(page - 1, 20,
                 Sort.by(Sort.Direction.DESC, "createdDate"));
         Slice<Board> list = boardRepository.findByType(type, request);
-        Slice<BoardListDto> listDto = list.map(board -> {
-            String url = redisService.getProfileImage(board.getEmail());
-            return new BoardListDto(board, url);
-        });
+        Map<String, UserProfileDto> profiles = redisService.getProfiles(
+                list.getContent().stream().map(Board::getEmail).collect(Collectors.toList()));
+        Slice<BoardListDto> listDto = list.map(board ->
+                new BoardListDto(board, profiles.get(board.getEmail()).getProfileImageUrl()));
         return listDto;
     }
 
@@ -0,0 +1,62 @@
+package com.meonghae.communityservice.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 게이트웨이 SSE 스트림으로 실시간 알림 발행 (Redis pub/sub)
+// community-service / profile-service 에 같은 내용(package 만 다름)으로 둔다.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationService {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${notification.channel-prefix}")
+    private String channelPrefix;
+
+    // 커밋 전에 알림을 받은 앱이 조회하면 데이터가 없으므로 트랜잭션 커밋 후 발행
+    public void publishAfterCommit(String email, String type, Map<String, Object> data) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(email, type, data);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(email, type, data);
+            }
+        });
+    }
+
+    // 사용자의 SSE 스트림을 가진 게이트웨이가 하나라도 받았으면 true, 아니면 호출한 쪽에서 FCM 등으로 보낸다.
+    // 트랜잭션 밖(RabbitMQ 알람 소비 등)에서 전달 여부가 필요할 때 사용
+    public boolean publish(String email, String type, Map<String, Object> data) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", type);
+        message.putAll(data);
+        try {
+            byte[] channel = (channelPrefix + email).getBytes(StandardCharsets.UTF_8);
+            byte[] payload = objectMapper.writeValueAsBytes(message);
+            // convertAndSend 는 수신자 수를 돌려주지 않으므로 PUBLISH 를 직접 호출
+            Long receivers = stringRedisTemplate.execute(
+                    (RedisCallback<Long>) connection -> connection.publish(channel, payload));
+            return receivers != null && receivers > 0;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("실시간 알림 발행 실패 : {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -6,25 +6,40 @@ import com.meonghae.communityservice.Dto.FcmDto.FcmDto;
 import com.meonghae.communityservice.Dto.S3Dto.S3RequestDto;
 import com.meonghae.communityservice.Dto.S3Dto.S3ResponseDto;
 import com.meonghae.communityservice.Dto.S3Dto.UserImageDto;
+import com.meonghae.communityservice.Dto.UserDto.UserProfileDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
 
 @Service
 @Slf4j
 @Transactional
 @RequiredArgsConstructor
 public class RedisService {
+    private static final String DELETED_NICKNAME = "탈퇴한 회원";
+    // 탈퇴 회원도 캐시해서 그 회원의 글이 있는 페이지마다 조회하지 않도록 빈 문자열로 저장 (탈퇴 취소 시 UserUpdated 이벤트로 지워짐)
+    private static final String DELETED_USER = "";
+    // 프로필 사진이 없는 회원도 캐시해서 매번 조회하지 않도록 빈 문자열로 저장
+    private static final String NO_PROFILE_IMAGE = "";
+    // 회원별 닉네임 / 프로필 사진 캐시 버전, 회원 정보 변경 이벤트로 캐시를 지울 때마다 올린다
+    private static final String VERSION_KEY_PREFIX = "userCacheVersion:";
+
     private final RedisCacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
     private final UserServiceClient userService;
     private final S3ServiceClient s3Service;
 
+    @Value("${cacheTtl.userProfile}")
+    private Duration userProfileTtl;
+
     @Value("${cacheName.getByEmail}")
     private String byEmail;
 
@@ -40,28 +55,124 @@ public class RedisService {
     public String getNickname(String email) {
         String nickname = cacheManager.getCache(byEmail).get(email, String.class);
         if(nickname == null) {
+            String version = version(email);
             log.info("=========== User Feign 호출 ===========");
             nickname = userService.getNickname(email);
             if(nickname == null) {
-                return "탈퇴한 회원";
+                nickname = DELETED_USER;
+            }
+            if (Objects.equals(version, version(email))) {
+                cacheManager.getCache(byEmail).put(email, nickname);
             }
-            cacheManager.getCache(byEmail).put(email, nickname);
         }
-        return nickname;
+        return DELETED_USER.equals(nickname) ? DELETED_NICKNAME : nickname;
     }
 
     public String getProfileImage(String email) {
         String url = cacheManager.getCache(getProfile).get(email, String.class);
         if(url == null) {
+            String version = version(email);
             log.info("=========== S3 Feign 호출 ===========");
             UserImageDto dto = s3Service.getUserImage(email);
-            if(dto == null) {
-                return null;
+            url = dto == null || dto.getFileUrl() == null ? NO_PROFILE_IMAGE : dto.getFileUrl();
+            if (Objects.equals(version, version(email))) {
+                cacheManager.getCache(getProfile).put(email, url);
+            }
+        }
+        return NO_PROFILE_IMAGE.equals(url) ? null : url;
+    }
+
+    // 한 페이지 작성자들의 닉네임과 프로필 사진.
+    // 캐시에 없는 회원만 모아서 user-service 에 한 번에 요청한다 (user-service 가 s3 조회도 한 번으로 묶음).
+    // 조회하는 동안 회원 정보 변경 이벤트가 온 회원은 응답이 이전 값일 수 있으므로 캐시에 넣지 않는다.
+    public Map<String, UserProfileDto> getProfiles(Collection<String> emails) {
+        Cache nicknameCache = cacheManager.getCache(byEmail);
+        Cache profileCache = cacheManager.getCache(getProfile);
+        Map<String, UserProfileDto> profiles = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String email : new LinkedHashSet<>(emails)) {
+            String nickname = nicknameCache.get(email, String.class);
+            String url = profileCache.get(email, String.class);
+            if (nickname == null || url == null) {
+                misses.add(email);
+            } else {
+                profiles.put(email, profile(email, nickname, DELETED_USER.equals(nickname), url));
             }
-            url = dto.getFileUrl();
-            cacheManager.getCache(getProfile).put(email, dto.getFileUrl());
         }
-        return url;
+        if (misses.isEmpty()) {
+            return profiles;
+        }
+
+        List<String> versions = versions(misses);
+        log.info("=========== User Feign 호출 ({}명) ===========", misses.size());
+        List<UserProfileDto> fetched = userService.getProfiles(misses);
+        if (fetched != null) {
+            Set<String> changed = changedSince(misses, versions);
+            for (UserProfileDto dto : fetched) {
+                String url = dto.getProfileImageUrl() == null ? NO_PROFILE_IMAGE : dto.getProfileImageUrl();
+                boolean deleted = dto.isDeleted() || dto.getNickname() == null;
+                if (!changed.contains(dto.getEmail())) {
+                    profileCache.put(dto.getEmail(), url);
+                    nicknameCache.put(dto.getEmail(), deleted ? DELETED_USER : dto.getNickname());
+                }
+                profiles.put(dto.getEmail(), profile(dto.getEmail(), dto.getNickname(), deleted, url));
+            }
+        }
+        for (String email : misses) {
+            profiles.putIfAbsent(email, profile(email, null, true, NO_PROFILE_IMAGE));
+        }
+        return profiles;
+    }
+
+    private static UserProfileDto profile(String email, String nickname, boolean deleted, String url) {
+        UserProfileDto profile = new UserProfileDto();
+        profile.setEmail(email);
+        profile.setNickname(deleted || nickname == null ? DELETED_NICKNAME : nickname);
+        profile.setDeleted(deleted);
+        profile.setProfileImageUrl(NO_PROFILE_IMAGE.equals(url) ? null : url);
+        return profile;
+    }
+
+    private String version(String email) {
+        return stringRedisTemplate.opsForValue().get(VERSION_KEY_PREFIX + email);
+    }
+
+    private List<String> versions(List<String> emails) {
+        List<String> keys = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            keys.add(VERSION_KEY_PREFIX + email);
+        }
+        List<String> versions = stringRedisTemplate.opsForValue().multiGet(keys);
+        return versions == null ? Collections.nCopies(emails.size(), null) : versions;
+    }
+
+    private Set<String> changedSince(List<String> emails, List<String> before) {
+        List<String> after = versions(emails);
+        Set<String> changed = new HashSet<>();
+        for (int i = 0; i < emails.size(); i++) {
+            if (!Objects.equals(before.get(i), after.get(i))) {
+                changed.add(emails.get(i));
+            }
+        }
+        return changed;
+    }
+
+    // 회원 정보 변경 이벤트 반영. 이벤트 내용으로 갱신하지 않고 지운다.
+    // 지우기 전에 버전을 올려서, 이미 시작한 조회가 끝난 뒤 이전 값을 다시 넣지 않게 한다.
+    // 버전 키는 캐시와 같은 기간 유지 (그보다 오래 걸리는 조회는 없다)
+    public void evictUser(String email, boolean profileImage) {
+        String versionKey = VERSION_KEY_PREFIX + email;
+        stringRedisTemplate.opsForValue().increment(versionKey);
+        stringRedisTemplate.expire(versionKey, userProfileTtl);
+        cacheManager.getCache(byEmail).evict(email);
+        if (profileImage) {
+            cacheManager.getCache(getProfile).evict(email);
+        }
+    }
+
+    public void evictDeletedUser(String email) {
+        evictUser(email, true);
+        cacheManager.getCache(getFCM).evict(email);
     }
 
     public List<S3ResponseDto> getReviewImages(Long reviewId) {
@@ -1,6 +1,5 @@
 package com.meonghae.communityservice.Service;
 
-import com.meonghae.communityservice.Client.UserServiceClient;
 import com.meonghae.communityservice.Dto.ReviewDto.ReviewReactionTypeDto;
 import com.meonghae.communityservice.Entity.Review.Review;
 import com.meonghae.communityservice.Entity.Review.ReviewReaction;
@@ -28,7 +27,7 @@ import static com.meonghae.communityservice.Exception.Error.ErrorCode.*;
 public class ReviewReactionService {
     private final ReviewReactionRepository reactionRepository;
     private final ReviewRepository reviewRepository;
-    private final UserServiceClient userService;
+    private final UserIdentityService userService;
 
     public String toggleRecommendedReview(Long reviewId, String token, ReviewReactionTypeDto typeDto) {
         Review review = reviewRepository.findById(reviewId)
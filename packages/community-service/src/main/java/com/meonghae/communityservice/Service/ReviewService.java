@@ -1,11 +1,11 @@
 package com.meonghae.communityservice.Service;
 
 import com.meonghae.communityservice.Client.S3ServiceClient;
-import com.meonghae.communityservice.Client.UserServiceClient;
 import com.meonghae.communityservice.Dto.ReviewDto.ReviewListDto;
 import com.meonghae.communityservice.Dto.ReviewDto.ReviewRequestDto;
 import com.meonghae.communityservice.Dto.S3Dto.S3RequestDto;
 import com.meonghae.communityservice.Dto.S3Dto.S3ResponseDto;
+import com.meonghae.communityservice.Dto.UserDto.UserProfileDto;
 import com.meonghae.communityservice.Entity.Review.Review;
 import com.meonghae.communityservice.Enum.RecommendStatus;
 import com.meonghae.communityservice.Enum.ReviewCatalog;
@@ -36,7 +36,7 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final ReviewReactionService reactionService;
     private final RedisService redisService;
-    private final UserServiceClient userService;
+    private final UserIdentityService userService;
     private final S3ServiceClient s3Service;
 
     @Transactional
@@ -53,8 +53,10 @@ public class ReviewService {
 
         List<Long> reviewIds = reviews.getContent().stream().map(Review::getId).collect(Collectors.toList());
         Map<Long, RecommendStatus> reactions = reactionService.getReviewReactions(reviewIds, token);
+        Map<String, UserProfileDto> profiles = redisService.getProfiles(
+                reviews.getContent().stream().map(Review::getEmail).collect(Collectors.toList()));
 
-        return reviews.map(r -> convertTypeAndAddImage(r, token, reactions.get(r.getId())));
+        return reviews.map(r -> convertTypeAndAddImage(r, profiles.get(r.getEmail()), reactions.get(r.getId())));
     }
     private Slice<Review> getPagingReview(int page, ReviewCatalog catalog, String keyword, ReviewSortType sort) {
         PageRequest request;
@@ -138,10 +140,8 @@ public class ReviewService {
         reviewRepository.delete(review);
     }
 
-    private ReviewListDto convertTypeAndAddImage(Review review, String token, RecommendStatus status) {
-        String nickname = redisService.getNickname(review.getEmail());
-        String url = redisService.getProfileImage(review.getEmail());
-        ReviewListDto reviewDto = new ReviewListDto(review, nickname, url, status);
+    private ReviewListDto convertTypeAndAddImage(Review review, UserProfileDto profile, RecommendStatus status) {
+        ReviewListDto reviewDto = new ReviewListDto(review, profile.getNickname(), profile.getProfileImageUrl(), status);
         if (review.getHasImage()) {
             List<S3ResponseDto> reviewImages = redisService.getReviewImages(review.getId());
             reviewDto.setImages(reviewImages);
@@ -0,0 +1,19 @@
+package com.meonghae.communityservice.Service;
+
+import com.meonghae.communityservice.Client.UserServiceClient;
+import com.meonghae.communityservice.Config.GatewayIdentityFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class UserIdentityService {
+    private final UserServiceClient userService;
+
+    // 게이트웨이가 검증한 email 을 우선 사용하고, 없을 때만 user-service 에 토큰 해석을 요청
+    public String getUserEmail(String token) {
+        String email = GatewayIdentityFilter.verifiedEmail();
+        if (email != null) return email;
+        return userService.getUserEmail(token);
+    }
+}
@@ -16,6 +16,11 @@ import java.util.Map;
 
 @Configuration
 public class RabbitmqConfig {
+    // user-service 회원 이벤트 (outbox relay 가 발행)
+    public static final String USER_EXCHANGE = "meonghae.user";
+    public static final String USER_FCM_TOKEN_QUEUE = "profile.user.fcm-token";
+    public static final String USER_DELETED_QUEUE = "profile.user.deleted";
+
     @Value("${spring.rabbitmq.host}")
     private String host;
 
@@ -43,6 +48,26 @@ public class RabbitmqConfig {
         return BindingBuilder.bind(queue).to(customExchange).with("lab303").and(customExchange.getArguments());
     }
     @Bean
+    TopicExchange userExchange() {
+        return new TopicExchange(USER_EXCHANGE, true, false);
+    }
+    @Bean
+    Queue userFcmTokenQueue() {
+        return new Queue(USER_FCM_TOKEN_QUEUE, true);
+    }
+    @Bean
+    Binding userFcmTokenBinding(TopicExchange userExchange, Queue userFcmTokenQueue) {
+        return BindingBuilder.bind(userFcmTokenQueue).to(userExchange).with("user.fcm-token.changed");
+    }
+    @Bean
+    Queue userDeletedQueue() {
+        return new Queue(USER_DELETED_QUEUE, true);
+    }
+    @Bean
+    Binding userDeletedBinding(TopicExchange userExchange, Queue userDeletedQueue) {
+        return BindingBuilder.bind(userDeletedQueue).to(userExchange).with("user.deleted");
+    }
+    @Bean
     RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter){
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter);
@@ -1,24 +1,34 @@
 package com.meonghae.profileservice.config;
 
 import com.meonghae.profileservice.dto.schedule.AlarmDto;
+import com.meonghae.profileservice.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class RabbitmqFcmConsumer {
     private final FcmConfig fcmConfig;
+    private final NotificationService notificationService;
 
     @RabbitListener(queues = "meonghae.queue")
     public void receive(AlarmDto alarmDto) throws IOException {
         log.info(alarmDto.getText());
         log.info(alarmDto.getAlarmTime().toString());
 
+        // 앱이 SSE 로 연결되어 있으면 바로 전달하고, 연결이 없을 때만 FCM 으로 보낸다
+        boolean delivered = notificationService.publish(alarmDto.getUserEmail(), "SCHEDULE",
+                Map.of("text", Objects.toString(alarmDto.getText(), ""), "alarmTime", alarmDto.getAlarmTime().getTime()));
+        if (delivered) {
+            return;
+        }
         fcmConfig.sendMessageTo(alarmDto);
     }
 }
@@ -0,0 +1,42 @@
+package com.meonghae.profileservice.config;
+
+import com.meonghae.profileservice.dto.event.FcmTokenChangedEvent;
+import com.meonghae.profileservice.dto.event.UserDeletedEvent;
+import com.meonghae.profileservice.service.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+// user-service outbox 에서 발행한 회원 이벤트 소비.
+// 메시지 id 는 user-service outbox id 로, 회원별로 증가하는 이벤트 버전으로 사용한다.
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RabbitmqUserEventConsumer {
+    private final RedisService redisService;
+
+    @RabbitListener(queues = RabbitmqConfig.USER_FCM_TOKEN_QUEUE)
+    public void receiveFcmTokenChanged(FcmTokenChangedEvent event,
+                                       @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        boolean applied = redisService.applyFcmTokenChanged(event.getEmail(), event.getFcmToken(), version(messageId));
+        if (!applied) {
+            log.info("FcmTokenChanged {} ignored, newer event already applied", messageId);
+        }
+    }
+
+    @RabbitListener(queues = RabbitmqConfig.USER_DELETED_QUEUE)
+    public void receiveUserDeleted(UserDeletedEvent event) {
+        redisService.evictFcm(event.getEmail());
+    }
+
+    private static Long version(String messageId) {
+        try {
+            return messageId == null ? null : Long.valueOf(messageId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.meonghae.profileservice.dto.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// user-service 가 로그인 시 발행하는 FCM 토큰 변경 이벤트
+@Getter
+@NoArgsConstructor
+public class FcmTokenChangedEvent {
+    private String email;
+
+    private String fcmToken;
+
+    private LocalDateTime occurredAt;
+}
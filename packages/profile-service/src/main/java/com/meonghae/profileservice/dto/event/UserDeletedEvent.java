@@ -0,0 +1,17 @@
+package com.meonghae.profileservice.dto.event;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// user-service 가 탈퇴(purged = false) / 유예 기간 후 삭제(purged = true) 시 발행하는 이벤트
+@Getter
+@NoArgsConstructor
+public class UserDeletedEvent {
+    private String email;
+
+    private boolean purged;
+
+    private LocalDateTime occurredAt;
+}
@@ -1,6 +1,7 @@
 package com.meonghae.profileservice.service;
 
 import com.meonghae.profileservice.client.UserServiceClient;
+import com.meonghae.profileservice.config.GatewayIdentityFilter;
 import com.meonghae.profileservice.error.ErrorCode;
 import com.meonghae.profileservice.error.exception.UnAuthorizedException;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,9 @@ public class FeignService {
 
     @Transactional
     public String getUserEmail(String token) {
+        // 게이트웨이가 검증해서 넘겨준 email 이 있으면 user-service 호출 생략
+        String verifiedEmail = GatewayIdentityFilter.verifiedEmail();
+        if (verifiedEmail != null) return verifiedEmail;
         String userEmail = userServiceClient.getUserEmail(token);
         if (userEmail == null) {
             throw new UnAuthorizedException(ErrorCode.CANT_READ_TOKEN, ErrorCode.CANT_READ_TOKEN.getMessage());
@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -19,9 +21,18 @@ import java.util.concurrent.TimeUnit;
 @Transactional
 @RequiredArgsConstructor
 public class RedisService {
+    // 이미 반영한 것보다 오래된 FCM 토큰 이벤트는 무시한다 (KEYS[1] : 버전 키, ARGV[1] : 이벤트 버전, ARGV[2] : TTL 초)
+    private static final RedisScript<Long> FCM_VERSION_SCRIPT = RedisScript.of(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current and tonumber(current) >= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) " +
+            "return 1", Long.class);
+    private static final String FCM_VERSION_KEY_PREFIX = "fcm-token-version:";
+
     private final RedisCacheManager cacheManager;
     private final RedisTemplate<String, Object> redisTemplate;
     private final UserServiceClient userFeignService;
+    private final StringRedisTemplate stringRedisTemplate;
 
 
     @Value("${cacheName.getFCM}")
@@ -50,8 +61,28 @@ public class RedisService {
     }
     public void updateFcm(String email, String fcmToken) {
         //redis에 존재하면 교체
-        if (cacheManager.getCache(getFCM).get(email, String.class) != null) {
-            redisTemplate.opsForValue().set(email,fcmToken);
+        Cache cache = cacheManager.getCache(getFCM);
+        if (cache.get(email, String.class) != null) {
+            cache.put(email, fcmToken);
+        }
+    }
+
+    // 탈퇴 / 삭제된 회원에게는 알림을 보내지 않도록 FCM 토큰 캐시 삭제
+    public void evictFcm(String email) {
+        cacheManager.getCache(getFCM).evict(email);
+    }
+
+    // FcmTokenChanged 이벤트 반영, 같은 이벤트가 다시 오거나 순서가 바뀌어 와도 결과가 같다
+    public boolean applyFcmTokenChanged(String email, String fcmToken, Long version) {
+        if (version != null) {
+            Long applied = stringRedisTemplate.execute(FCM_VERSION_SCRIPT,
+                    List.of(FCM_VERSION_KEY_PREFIX + email), version.toString(),
+                    Long.toString(TimeUnit.DAYS.toSeconds(8)));
+            if (applied == null || applied == 0L) {
+                return false;
+            }
         }
+        updateFcm(email, fcmToken);
+        return true;
     }
 }
@@ -0,0 +1,66 @@
+package com.meonghae.profileservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// secret / 기대 서명값은 게이트웨이 IdentityHeaderSignerTest 와 같다.
+class GatewayIdentityVerifierTest {
+
+    private static final String SECRET = "meonghae-identity-test-secret";
+    private static final String SIGNATURE = "PXVXy-UXscSYkbLSdc-qwKK6D2Og4RU0uz6eLGEPOqI";
+    private static final long ISSUED_AT = 1_700_000_000L;
+
+    private final GatewayIdentityVerifier verifier = new GatewayIdentityVerifier(SECRET, 60);
+
+    @Test
+    void acceptsGatewaySignature() {
+        assertThat(verify("user@meonghae.site", "USER", "android-1", ISSUED_AT, SIGNATURE, ISSUED_AT + 5))
+                .isTrue();
+    }
+
+    @Test
+    void rejectsTamperedHeaders() {
+        assertThat(verify("admin@meonghae.site", "USER", "android-1", ISSUED_AT, SIGNATURE, ISSUED_AT)).isFalse();
+        assertThat(verify("user@meonghae.site", "ADMIN", "android-1", ISSUED_AT, SIGNATURE, ISSUED_AT)).isFalse();
+        assertThat(verify("user@meonghae.site", "USER", null, ISSUED_AT, SIGNATURE, ISSUED_AT)).isFalse();
+        assertThat(verify("user@meonghae.site", "USER", "android-1", ISSUED_AT + 1, SIGNATURE, ISSUED_AT)).isFalse();
+        assertThat(verify("user@meonghae.site", "USER", "android-1", ISSUED_AT,
+                SIGNATURE.substring(1) + "A", ISSUED_AT)).isFalse();
+        assertThat(verify("user@meonghae.site", "USER", "android-1", ISSUED_AT, "not base64!", ISSUED_AT))
+                .isFalse();
+    }
+
+    @Test
+    void rejectsStaleOrFutureTimestamp() {
+        assertThat(verify("user@meonghae.site", "USER", "android-1", ISSUED_AT, SIGNATURE, ISSUED_AT + 61))
+                .isFalse();
+        assertThat(verify("user@meonghae.site", "USER", "android-1", ISSUED_AT, SIGNATURE, ISSUED_AT - 61))
+                .isFalse();
+        assertThat(verifier.verify("user@meonghae.site", "USER", "android-1", "yesterday", SIGNATURE, ISSUED_AT))
+                .isFalse();
+    }
+
+    @Test
+    void rejectsMissingHeaders() {
+        assertThat(verifier.verify(null, "USER", "android-1", "1700000000", SIGNATURE, ISSUED_AT)).isFalse();
+        assertThat(verifier.verify("user@meonghae.site", "USER", "android-1", null, SIGNATURE, ISSUED_AT))
+                .isFalse();
+        assertThat(verifier.verify("user@meonghae.site", "USER", "android-1", "1700000000", null, ISSUED_AT))
+                .isFalse();
+    }
+
+    @Test
+    void blankSecretAcceptsNothing() {
+        GatewayIdentityVerifier disabled = new GatewayIdentityVerifier("", 60);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.verify("user@meonghae.site", "USER", "android-1", "1700000000", SIGNATURE, ISSUED_AT))
+                .isFalse();
+    }
+
+    private boolean verify(String email, String roles, String androidId, long issuedAt,
+                           String signature, long now) {
+        return verifier.verify(email, roles, androidId, Long.toString(issuedAt), signature, now);
+    }
+}
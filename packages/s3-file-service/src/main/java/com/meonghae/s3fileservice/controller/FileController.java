@@ -62,6 +62,12 @@ public class FileController {
         return fileService.viewUserProfile(email);
     }
 
+    @Operation(summary = "View Files about User Entities API")
+    @PostMapping("/users/batch")
+    public List<FileUserResponseDto> viewUserFiles(@RequestBody List<String> emails) {
+        return fileService.viewUserProfiles(emails);
+    }
+
     @Operation(summary = "View File about Pet Entity Api")
     @GetMapping ("/pets")
     public FileUserResponseDto viewPetFile(@ModelAttribute FileRequestDto requestDto){
@@ -18,6 +18,8 @@ public interface FileService {
 
     FileUserResponseDto viewUserProfile(String email);
 
+    List<FileUserResponseDto> viewUserProfiles(List<String> emails);
+
     FileUserResponseDto viewPetProfile(FileRequestDto requestDto);
 
     void deleteFiles(FileRequestDto requestDto);
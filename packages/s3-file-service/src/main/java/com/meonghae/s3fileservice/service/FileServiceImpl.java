@@ -126,6 +126,27 @@ public class FileServiceImpl implements FileService {
                 .fetchOne();
     }
 
+    // 여러 사용자의 프로필 사진을 한 번의 쿼리로 조회 (user-service 의 일괄 프로필 조회용)
+    @Override
+    public List<FileUserResponseDto> viewUserProfiles(List<String> emails) {
+        if (emails == null || emails.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jpaQueryFactory
+                .select(
+                        Projections.constructor(
+                                FileUserResponseDto.class,
+                                QFile.file.fileName,
+                                QFile.file.fileUrl,
+                                QFile.file.entityType,
+                                QFile.file.email
+                        )
+                )
+                .from(QFile.file)
+                .where(QFile.file.email.in(emails))
+                .fetch();
+    }
+
     @Override
     public FileUserResponseDto viewPetProfile(FileRequestDto requestDto) {
         return jpaQueryFactory
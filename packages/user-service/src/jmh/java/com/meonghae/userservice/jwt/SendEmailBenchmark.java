@@ -0,0 +1,94 @@
+package com.meonghae.userservice.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.meonghae.userservice.enums.UserRole;
+import com.meonghae.userservice.service.impl.UserServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// /send/email 한 번에 일어나는 토큰 해석 (필터 검증 -> 인증 정보 조회 -> 서비스의 email 추출) 처리량.
+// legacy      : 변경 전과 같이 매번 키와 파서를 새로 만들어 세 번 해석
+// uncached    : 미리 만든 파서로 한 번 해석한 뒤 요청 안에서만 재사용 (요청 간 캐시 miss)
+// cached      : 미리 만든 파서 + 요청 간 캐시 (같은 토큰으로 반복 호출하는 다른 서비스)
+// ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SendEmailBenchmark {
+
+    private static final String SECRET = "meonghae-benchmark-secret-key-must-be-long-enough-for-hs256";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserServiceImpl userService;
+    private Cache<String, ?> claimsCache;
+    private String encodedSecret;
+    private String accessToken;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        jwtTokenProvider = new JwtTokenProvider(null, null, new SimpleMeterRegistry(), null);
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenValidTime", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshTokenValidTime", TimeUnit.DAYS.toMillis(7));
+        ReflectionTestUtils.setField(jwtTokenProvider, "claimsCacheMaximumSize", 10_000L);
+        jwtTokenProvider.init();
+        claimsCache = (Cache<String, ?>) ReflectionTestUtils.getField(jwtTokenProvider, "claimsCache");
+        userService = new UserServiceImpl(null, null, jwtTokenProvider, null, null, null, null);
+
+        encodedSecret = Base64.getEncoder().encodeToString(SECRET.getBytes());
+        accessToken = jwtTokenProvider.createAccessToken("benchmark@meonghae.site", UserRole.USER, "benchmark-device");
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String legacy() {
+        Key key = Keys.hmacShaKeyFor(encodedSecret.getBytes());
+        boolean valid = !Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(accessToken).getBody().getExpiration().before(new Date());
+        String principal = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(encodedSecret.getBytes())).build()
+                .parseClaimsJws(accessToken).getBody().getSubject();
+        String email = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(encodedSecret.getBytes())).build()
+                .parseClaimsJws(accessToken).getBody().getSubject();
+        return valid && principal.equals(email) ? email : null;
+    }
+
+    @Benchmark
+    public String uncached() {
+        claimsCache.invalidate(accessToken);
+        return sendEmail();
+    }
+
+    @Benchmark
+    public String cached() {
+        return sendEmail();
+    }
+
+    // 요청마다 새 요청 속성을 두고 필터 -> 서비스 순서로 호출
+    private String sendEmail() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            boolean valid = jwtTokenProvider.validateToken(accessToken);
+            String principal = jwtTokenProvider.getUserEmail(accessToken);
+            String email = userService.sendEmail(accessToken);
+            return valid && principal.equals(email) ? email : null;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.meonghae.userservice.kakao;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.springframework.boot.convert.DurationStyle;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+// 오프라인 부하 테스트용 Kakao OAuth 스텁.
+//   POST /oauth/token  code 로 access_token "stub-{code}" 발급
+//   GET  /v2/user/me   Bearer stub-{code} 이면 kakao_account.email "{code}@stub.meonghae.site"
+// 응답마다 latency 만큼 지연시켜 실제 Kakao 응답 시간을 흉내 낸다.
+// ./gradlew kakaoStub -Pport=18089 -Platency=80ms
+// user-service 는 kakao.auth-base-url, kakao.api-base-url 을 http://localhost:18089 로 두고 띄운다.
+public class KakaoStubServer {
+
+    private static final String TOKEN_PREFIX = "stub-";
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 18089;
+        Duration latency = args.length > 1 ? DurationStyle.detectAndParse(args[1]) : Duration.ofMillis(50);
+
+        DisposableServer server = HttpServer.create()
+                .port(port)
+                .route(routes -> routes
+                        .post("/oauth/token", (request, response) -> request.receive().aggregate().asString()
+                                .defaultIfEmpty("")
+                                .flatMap(form -> {
+                                    List<String> code = new QueryStringDecoder(form, false).parameters().get("code");
+                                    if (code == null || code.isEmpty()) {
+                                        return json(response.status(HttpResponseStatus.BAD_REQUEST),
+                                                "{\"error\":\"invalid_request\"}", latency);
+                                    }
+                                    return json(response, "{\"token_type\":\"bearer\",\"access_token\":\"" + TOKEN_PREFIX + code.get(0)
+                                            + "\",\"expires_in\":21599,\"refresh_token\":\"stub-refresh\",\"refresh_token_expires_in\":5183999}", latency);
+                                })
+                                .then())
+                        .get("/v2/user/me", (request, response) -> {
+                            String authorization = request.requestHeaders().get(HttpHeaderNames.AUTHORIZATION, "");
+                            if (!authorization.startsWith("Bearer " + TOKEN_PREFIX)) {
+                                return json(response.status(HttpResponseStatus.UNAUTHORIZED),
+                                        "{\"msg\":\"this access token does not exist\",\"code\":-401}", latency).then();
+                            }
+                            String code = authorization.substring(("Bearer " + TOKEN_PREFIX).length());
+                            return json(response, "{\"id\":" + Math.abs(code.hashCode())
+                                    + ",\"kakao_account\":{\"has_email\":true,\"email\":\"" + code + "@stub.meonghae.site\"}}", latency).then();
+                        }))
+                .bindNow();
+
+        System.out.printf("Kakao stub listening on http://localhost:%d (latency %dms)%n", server.port(), latency.toMillis());
+        server.onDispose().block();
+    }
+
+    private static Mono<Void> json(HttpServerResponse response, String body, Duration latency) {
+        return Mono.delay(latency)
+                .then(response.header(HttpHeaderNames.CONTENT_TYPE, "application/json;charset=UTF-8")
+                        .sendString(Mono.just(body))
+                        .then());
+    }
+}
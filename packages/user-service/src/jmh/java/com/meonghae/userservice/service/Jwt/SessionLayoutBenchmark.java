@@ -0,0 +1,88 @@
+package com.meonghae.userservice.service.Jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 한 번에 user-service 가 Redis 로 보내는 세션 데이터의 인코딩 비용, 크기, 왕복 횟수 비교.
+// legacy : 변경 전 - refresh 토큰 키 / email 키에 JSON(HashMap + @class) 값, 명령마다 한 번씩 왕복
+// hash   : session:{email}, refresh:{digest} hash 에 문자열 그대로, session-open.lua 한 번 (이전 accessToken 블랙리스트 등록 포함)
+// 로그인 1회당 보내는 바이트와 왕복 횟수는 측정이 끝날 때 출력한다. Redis 쪽 실제 메모리는 MEMORY USAGE 로 확인한다.
+// ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SessionLayoutBenchmark {
+
+    // 중복 로그인 : GET email, DEL refresh, DEL email, SET refresh, SET email
+    private static final int LEGACY_ROUND_TRIPS = 5;
+    // 중복 로그인 : EVALSHA session-open.lua (세션 교체와 이전 accessToken 의 SET / ZADD / PUBLISH 를 스크립트 안에서)
+    private static final int HASH_ROUND_TRIPS = 1;
+
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    private String email;
+    private String androidId;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setup() {
+        email = "benchmark@meonghae.site";
+        androidId = "3f9a61c2b07e4d15";
+        // 실제 토큰과 같은 길이의 HS256 JWT 형태 문자열
+        accessToken = jwtLike(180);
+        refreshToken = jwtLike(180);
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%nlegacy : %d bytes, %d round trips per login%n", legacy(), LEGACY_ROUND_TRIPS);
+        System.out.printf("hash   : %d bytes, %d round trips per login%n", hash(), HASH_ROUND_TRIPS);
+    }
+
+    @Benchmark
+    public long legacy() {
+        Map<String, String> token = new HashMap<>();
+        token.put("email", email);
+        token.put("androidId", androidId);
+        Map<String, String> device = new HashMap<>();
+        device.put("androidId", androidId);
+        device.put("accessToken", accessToken);
+        device.put("refreshToken", refreshToken);
+
+        return utf8(refreshToken) + serializer.serialize(token).length
+                + utf8(email) + serializer.serialize(device).length;
+    }
+
+    @Benchmark
+    public long hash() {
+        String refreshDigest = RedisService.tokenDigest(refreshToken);
+        String accessDigest = RedisService.tokenDigest(accessToken);
+        return utf8(RedisService.SESSION_KEY_PREFIX + email)
+                + utf8("androidId") + utf8(androidId)
+                + utf8("accessToken") + utf8(accessToken)
+                + utf8("refreshDigest") + utf8(refreshDigest)
+                + utf8("accessDigest") + utf8(accessDigest)
+                + utf8("accessExpiresAt") + utf8("1700000000000")
+                + utf8(RedisService.REFRESH_KEY_PREFIX + refreshDigest)
+                + utf8("email") + utf8(email)
+                + utf8("androidId") + utf8(androidId);
+    }
+
+    private static long utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static String jwtLike(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + (i * 7) % 26));
+        }
+        return builder.toString();
+    }
+}
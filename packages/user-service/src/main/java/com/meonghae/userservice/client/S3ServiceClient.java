@@ -17,6 +17,9 @@ public interface S3ServiceClient {
     @GetMapping("/files/users")
     S3ResponseDto viewUserFile(@RequestParam String email);
 
+    @PostMapping("/files/users/batch")
+    List<S3ResponseDto> viewUserFiles(@RequestBody List<String> emails);
+
     @PostMapping(value = "/files/users", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<String> uploadFileForUser(@RequestPart(value = "file", name = "file") MultipartFile file,
                                        @RequestPart(value = "data", name = "data") S3RequestDto data);
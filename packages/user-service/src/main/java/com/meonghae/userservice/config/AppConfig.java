@@ -1,11 +1,8 @@
 package com.meonghae.userservice.config;
 
-import com.meonghae.userservice.client.PetServiceClient;
-import com.meonghae.userservice.client.S3ServiceClient;
-import com.meonghae.userservice.dto.S3Dto.S3RequestDto;
-import com.meonghae.userservice.entity.User;
-import com.meonghae.userservice.repository.UserRepository;
+import com.meonghae.userservice.service.Purge.AccountPurgeJob;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -13,8 +10,6 @@ import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.scheduling.support.CronTrigger;
 
-import java.time.LocalDateTime;
-import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -24,27 +19,17 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 @RequiredArgsConstructor
 public class AppConfig implements SchedulingConfigurer {
 
-    private final UserRepository userRepository;
-    private final S3ServiceClient s3Service;
-    private final PetServiceClient petService;
+    private final AccountPurgeJob accountPurgeJob;
+
+    @Value("${purge.cron:0 0 0 * * *}")
+    private String purgeCron;
 
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
         taskRegistrar.setScheduler(taskExecutor());
         taskRegistrar.addTriggerTask(
-                () -> {
-                    // 일주일이 지난 회원 삭제
-                    LocalDateTime oneWeekAgo = LocalDateTime.now().minusWeeks(1);
-                    List<User> usersToDelete = userRepository.findByDeletedIsTrueAndModifiedDateBefore(oneWeekAgo);
-                    userRepository.deleteAll(usersToDelete);
-
-                    for (User user : usersToDelete) {
-                        S3RequestDto requestDto = new S3RequestDto(user.getEmail(), "USER");
-                        s3Service.deleteFileForUser(requestDto);
-                        petService.deletedByUserEmail(user.getEmail());
-                    }
-                },
-                triggerContext -> new CronTrigger("0 0 0 * * *").nextExecutionTime(triggerContext) // 매일 자정에 실행
+                accountPurgeJob::run, // 일주일이 지난 회원 삭제
+                triggerContext -> new CronTrigger(purgeCron).nextExecutionTime(triggerContext) // 매일 자정에 실행
         );
     }
 
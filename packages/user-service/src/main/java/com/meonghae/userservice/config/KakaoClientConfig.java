@@ -0,0 +1,54 @@
+package com.meonghae.userservice.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+// Kakao OAuth 전용 WebClient. 다른 호출과 연결을 나눠 쓰지 않도록 전용 커넥션 풀을 둔다.
+@Configuration
+public class KakaoClientConfig {
+
+    @Value("${kakao.client.max-connections:50}")
+    private int maxConnections;
+
+    // 풀이 가득 찼을 때 연결을 기다리는 최대 시간
+    @Value("${kakao.client.pending-acquire-timeout:2s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${kakao.client.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${kakao.client.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${kakao.client.read-timeout:3s}")
+    private Duration readTimeout;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider kakaoConnectionProvider() {
+        return ConnectionProvider.builder("kakao")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient kakaoWebClient(WebClient.Builder webClientBuilder, ConnectionProvider kakaoConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(kakaoConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.meonghae.userservice.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitmqConfig {
+
+    // 회원 이벤트 exchange, 구독하는 서비스가 라우팅 키(user.*)로 자기 큐를 바인딩한다
+    public static final String USER_EXCHANGE = "meonghae.user";
+
+    @Bean
+    TopicExchange userExchange() {
+        return new TopicExchange(USER_EXCHANGE, true, false);
+    }
+
+    // outbox payload 는 이미 JSON 이므로 변환 없이 그대로 보낸다
+    @Bean
+    RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+        rabbitTemplate.setExchange(USER_EXCHANGE);
+        return rabbitTemplate;
+    }
+}
@@ -4,7 +4,6 @@ import com.meonghae.userservice.error.ErrorExceptionControllerAdvice;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class WebConfig {
@@ -14,11 +13,6 @@ public class WebConfig {
         return new RestTemplateBuilder();
     }
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-
 //    @Bean
 //    public ErrorExceptionControllerAdvice customExceptionHandler() {
 //        return new ErrorExceptionControllerAdvice();
@@ -1,8 +1,9 @@
 package com.meonghae.userservice.controller;
 
 import com.meonghae.userservice.dto.*;
-import com.meonghae.userservice.repository.UserRepository;
 import com.meonghae.userservice.service.Interface.UserService;
+import com.meonghae.userservice.service.Jwt.UserState;
+import com.meonghae.userservice.service.Jwt.UserStateCache;
 import io.swagger.annotations.Api;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
@@ -13,19 +14,25 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequiredArgsConstructor
 @Api(value = "USER_CONTROLLER", tags = "User Service 컨트롤러")
 public class UserController {
 
-    private final UserRepository userRepository;
     private final UserService userService;
+    private final UserStateCache userStateCache;
 
     @Operation(summary = "Gateway 서비스 내 토큰 재발급 로직용 API")
     @GetMapping("/users")
     public String getUserRoles(@RequestParam String email) {
-        return userRepository.findByEmail(email).get().getUserRole().toString();
+        UserState state = userStateCache.get(email);
+        if (state == null) {
+            throw new NoSuchElementException("No value present");
+        }
+        return state.getUserRole().toString();
     }
 
     @Operation(summary = "Feign Client 전송용 API - 이메일")
@@ -40,6 +47,12 @@ public class UserController {
         return userService.sendNickname(email);
     }
 
+    @Operation(summary = "Feign Client 전송용 API - 닉네임, 탈퇴 여부, 프로필 사진 일괄 조회")
+    @PostMapping("/send/profiles")
+    public List<UserProfileDto> sendProfiles(@RequestBody List<String> emails) {
+        return userService.sendProfiles(emails);
+    }
+
     @Operation(summary = "Feign Client 전송용 API - FCMToken")
     @GetMapping("/send/token")
     public FCMResponseDto sendFCMToken(@RequestParam String email) {
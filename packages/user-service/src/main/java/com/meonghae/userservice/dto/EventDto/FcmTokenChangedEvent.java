@@ -0,0 +1,21 @@
+package com.meonghae.userservice.dto.EventDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FcmTokenChangedEvent {
+
+    private String email;
+
+    private String fcmToken;
+
+    private LocalDateTime occurredAt;
+}
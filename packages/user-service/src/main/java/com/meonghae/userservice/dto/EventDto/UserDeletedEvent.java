@@ -0,0 +1,22 @@
+package com.meonghae.userservice.dto.EventDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 탈퇴 (purged = false) 또는 유예 기간 후 삭제 (purged = true)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletedEvent {
+
+    private String email;
+
+    private boolean purged;
+
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,24 @@
+package com.meonghae.userservice.dto.EventDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 닉네임 / 프로필 사진 변경, 탈퇴 취소
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserUpdatedEvent {
+
+    private String email;
+
+    private String nickname;
+
+    private boolean profileImageChanged;
+
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.meonghae.userservice.dto.KakaoDto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// POST https://kauth.kakao.com/oauth/token 응답 (필요한 필드만, 나머지는 무시)
+@Getter
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class KakaoTokenResponse {
+
+    private String tokenType;
+
+    private String accessToken;
+
+    private Integer expiresIn;
+
+    private String refreshToken;
+
+    private Integer refreshTokenExpiresIn;
+
+    private String scope;
+}
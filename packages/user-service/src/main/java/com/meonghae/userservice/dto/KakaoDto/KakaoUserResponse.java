@@ -0,0 +1,27 @@
+package com.meonghae.userservice.dto.KakaoDto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// GET https://kapi.kakao.com/v2/user/me 응답 (필요한 필드만, 나머지는 무시)
+@Getter
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class KakaoUserResponse {
+
+    private Long id;
+
+    private KakaoAccount kakaoAccount;
+
+    @Getter
+    @NoArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class KakaoAccount {
+
+        private String email;
+
+        private Boolean isEmailVerified;
+    }
+}
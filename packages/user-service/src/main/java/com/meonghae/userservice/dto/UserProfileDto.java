@@ -0,0 +1,26 @@
+package com.meonghae.userservice.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileDto {
+
+    @ApiModelProperty(value = "email")
+    private String email;
+
+    @ApiModelProperty(value = "닉네임, 없는 회원이면 null")
+    private String nickname;
+
+    @ApiModelProperty(value = "탈퇴 여부, 없는 회원도 true")
+    private boolean deleted;
+
+    @ApiModelProperty(value = "프로필 사진 URL, 없으면 null")
+    private String profileImageUrl;
+}
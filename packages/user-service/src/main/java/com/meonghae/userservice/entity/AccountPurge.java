@@ -0,0 +1,59 @@
+package com.meonghae.userservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+// 회원 삭제 작업의 체크포인트.
+// 회원 행을 지우는 트랜잭션에서 함께 만들어지고, 다른 서비스 정리가 모두 끝나면 삭제된다.
+// 남아 있는 행은 다음 실행에서 끝나지 않은 단계만 다시 시도한다.
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class AccountPurge extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String email;
+
+    @Column
+    private boolean s3Cleaned;
+
+    @Column
+    private boolean petCleaned;
+
+    @Column
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public boolean isCompleted() {
+        return s3Cleaned && petCleaned;
+    }
+
+    public void checkpoint(boolean s3Cleaned, boolean petCleaned, String error) {
+        this.s3Cleaned = this.s3Cleaned || s3Cleaned;
+        this.petCleaned = this.petCleaned || petCleaned;
+        if (!isCompleted()) {
+            this.attempts++;
+            this.lastError = error == null || error.length() <= 500 ? error : error.substring(0, 500);
+        }
+    }
+
+    // 같은 email 로 다시 가입했다가 탈퇴한 경우 처음부터 다시 정리
+    public void reopen() {
+        this.s3Cleaned = false;
+        this.petCleaned = false;
+        this.attempts = 0;
+        this.lastError = null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.meonghae.userservice.entity;
+
+import com.meonghae.userservice.enums.UserEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 회원 데이터 변경과 같은 트랜잭션에 저장되고, OutboxRelay 가 RabbitMQ 로 전달한 뒤 publishedAt 을 채운다
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_pending", columnList = "publishedAt, nextAttemptAt"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class OutboxEvent extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private UserEventType eventType;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime publishedAt;
+
+    private int attempts;
+
+    public void published() {
+        this.publishedAt = LocalDateTime.now();
+    }
+
+    // 1s, 2s, 4s ... 최대 5분 간격으로 재시도
+    public void failed() {
+        this.attempts++;
+        long backoff = Math.min(1L << Math.min(attempts - 1, 16), Duration.ofMinutes(5).getSeconds());
+        this.nextAttemptAt = LocalDateTime.now().plusSeconds(backoff);
+    }
+}
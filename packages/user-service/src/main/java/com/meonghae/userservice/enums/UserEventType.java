@@ -0,0 +1,17 @@
+package com.meonghae.userservice.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// outbox 로 발행하는 회원 이벤트, meonghae.user exchange 의 라우팅 키
+@Getter
+@RequiredArgsConstructor
+public enum UserEventType {
+
+    FCM_TOKEN_CHANGED("user.fcm-token.changed", "FcmTokenChanged"),
+    USER_UPDATED("user.updated", "UserUpdated"),
+    USER_DELETED("user.deleted", "UserDeleted");
+
+    private final String routingKey;
+    private final String title;
+}
@@ -15,6 +15,7 @@ public enum ErrorCode {
     FORBIDDEN_EXCEPTION(403, "403", "403 Forbidden"),
     NOT_FOUND_EXCEPTION(404, "404", "404 Not Found"),
     CONFLICT_EXCEPTION(409, "409", "409 Conflict"),
+    KAKAO_API_EXCEPTION(502, "502", "Kakao API unavailable"),
     INVALID_TOKEN_EXCEPTION(4001, "4001", "Invalid JWT token"),
     JWT_TOKEN_EXPIRED(4002, "4002", "JWT token has expired"),
     UNSUPPORTED_JWT_TOKEN(4003, "4003", "JWT token is unsupported"),
@@ -73,6 +73,16 @@ public class ErrorExceptionControllerAdvice {
                         .build());
     }
 
+    @ExceptionHandler({KakaoApiException.class})
+    public ResponseEntity<ErrorEntity> exceptionHandler(HttpServletRequest request, final KakaoApiException e) {
+        return ResponseEntity
+                .status(e.getErrorCode().getStatus())
+                .body(ErrorEntity.builder()
+                        .errorCode(e.getErrorCode().getCode())
+                        .errorMessage(e.getErrorCode().getMessage())
+                        .build());
+    }
+
     @ExceptionHandler({IllegalArgumentException.class})
     public ResponseEntity<ErrorEntity> exceptionHandler(HttpServletRequest request, final IllegalArgumentException e) {
         return ResponseEntity
@@ -0,0 +1,9 @@
+package com.meonghae.userservice.error.exception;
+
+import com.meonghae.userservice.error.ErrorCode;
+
+public class KakaoApiException extends BusinessException {
+    public KakaoApiException(String message, ErrorCode errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -7,23 +7,37 @@ import com.meonghae.userservice.error.exception.JwtExpiredException;
 import com.meonghae.userservice.error.exception.IllegalArgumentException;
 import com.meonghae.userservice.error.exception.UnsupportedJwtException;
 import com.meonghae.userservice.error.exception.SignatureException;
+import com.meonghae.userservice.error.exception.UnAuthorizedException;
 import com.meonghae.userservice.service.Jwt.CustomUserDetailService;
 import com.meonghae.userservice.service.Jwt.RedisService;
+import com.meonghae.userservice.service.Jwt.UserState;
+import com.meonghae.userservice.service.Jwt.UserStateCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.Key;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -31,8 +45,13 @@ import java.util.*;
 @Transactional
 public class JwtTokenProvider {
 
+    // 한 요청 안에서 이미 해석한 토큰의 클레임 (필터 -> 인증 -> 서비스가 같은 토큰을 여러 번 해석)
+    private static final String REQUEST_CLAIMS_ATTRIBUTE = JwtTokenProvider.class.getName() + ".claims";
+
     private final RedisService redisService;
     private final CustomUserDetailService customUserDetailService;
+    private final MeterRegistry meterRegistry;
+    private final UserStateCache userStateCache;
 
     // 키
     @Value("${jwt.secret}")
@@ -45,10 +64,38 @@ public class JwtTokenProvider {
     @Value("${jwt.refreshTokenExpiration}")
     private long refreshTokenValidTime;
 
+    // 요청 간에 공유하는 검증 완료된 클레임 캐시 최대 개수
+    @Value("${jwt.claims-cache.maximum-size:10000}")
+    private long claimsCacheMaximumSize;
+
+    // claims : 토큰 클레임 + 회원 상태 캐시로 인증, database : 요청마다 회원 조회 (이전 방식)
+    @Value("${jwt.authentication-mode:claims}")
+    private String authenticationMode;
+
+    private Key key;
+    private JwtParser parser;
+    private Cache<String, Claims> claimsCache;
+    private Counter requestHits;
+
     // 객체 초기화, secretKey를 Base64로 인코딩한다.
     @PostConstruct // 의존성 주입 후, 초기화를 수행
     protected void init() {
         secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        // 키와 파서는 요청마다 만들지 않고 한 번만 생성해서 재사용 (thread-safe)
+        key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        // 토큰 -> 클레임, 토큰의 exp 까지만 보관
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaximumSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+        requestHits = Counter.builder("jwt.claims.request.hits")
+                .description("Claims reused within the same request without a cache lookup or parse")
+                .register(meterRegistry);
     }
 
     // Access Token 생성.
@@ -69,7 +116,6 @@ public class JwtTokenProvider {
         claims.put("roles", roles); // 권한 설정, key/ value 쌍으로 저장
         claims.put("androidId", androidId);
 
-        Key key = Keys.hmacShaKeyFor(secretKey.getBytes());
         Date date = new Date();
 
         return Jwts.builder()
@@ -82,26 +128,75 @@ public class JwtTokenProvider {
 
     // JWT 토큰에서 인증 정보 조회
     public UsernamePasswordAuthenticationToken getAuthentication(String token) {
-        UserDetails userDetails = customUserDetailService.loadUserByUsername(this.getUserEmail(token));
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        if ("database".equals(authenticationMode)) {
+            UserDetails userDetails = customUserDetailService.loadUserByUsername(this.getUserEmail(token));
+            return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        }
+        // principal 은 토큰의 email, 권한은 캐시된 현재 회원 상태 기준 (토큰 발급 후 권한이 바뀌었거나 탈퇴했을 수 있다)
+        String email = this.getUserEmail(token);
+        UserState state = userStateCache.get(email);
+        if (state == null) {
+            throw new UsernameNotFoundException("회원이 존재하지 않습니다.");
+        }
+        if (state.isDeleted()) {
+            throw new UnAuthorizedException("Already Withdrawal", ErrorCode.NOT_ALLOW_WITHDRAWAL_EXCEPTION);
+        }
+        return new UsernamePasswordAuthenticationToken(email, "",
+                List.of(new SimpleGrantedAuthority(state.getUserRole().toString())));
     }
 
     // 토큰에서 AndroidId 정보 추출
     public String getAndroidIdFromToken(String token) {
-        JwtParser jwtParser = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                .build();
-
-        return (String) jwtParser.parseClaimsJws(token).getBody().get("androidId");
+        return (String) getClaims(token).get("androidId");
     }
 
     // 토큰에서 회원 정보 추출
     public String getUserEmail(String token) {
-        JwtParser jwtParser = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                .build();
+        return getClaims(token).getSubject();
+    }
+
+    // 서명을 검증한 뒤 토큰의 클레임 반환.
+    // 같은 요청에서 해석한 토큰은 요청 속성에서, 다른 요청에서 검증한 토큰은 캐시에서 꺼낸다.
+    public Claims getClaims(String token) {
+        Map<String, Claims> requestClaims = requestClaims();
+        if (requestClaims != null) {
+            Claims claims = requestClaims.get(token);
+            if (claims != null) {
+                requestHits.increment();
+                return claims;
+            }
+        }
+        Claims claims = token == null ? null : claimsCache.getIfPresent(token);
+        if (claims == null) {
+            claims = parse(token);
+            if (claims.getExpiration() != null) {
+                claimsCache.put(token, claims);
+            }
+        }
+        if (requestClaims != null) {
+            requestClaims.put(token, claims);
+        }
+        return claims;
+    }
 
-        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    // 캐시를 거치지 않는 서명 + 만료 검증
+    Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // 요청 스레드가 아니면 (비동기 작업 등) null
+    @SuppressWarnings("unchecked")
+    private static Map<String, Claims> requestClaims() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object claims = attributes.getAttribute(REQUEST_CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (claims == null) {
+            claims = new HashMap<String, Claims>(4);
+            attributes.setAttribute(REQUEST_CLAIMS_ATTRIBUTE, claims, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, Claims>) claims;
     }
 
     // Request의 Header에서 AccessToken 값을 가져옵니다. "authorization" : "token"
@@ -122,29 +217,26 @@ public class JwtTokenProvider {
 
     // Expire Token
     public void expireToken(String token) {
-        Key key = Keys.hmacShaKeyFor(secretKey.getBytes());
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        Date expiration = claims.getExpiration();
-        Date now = new Date();
-        if (now.after(expiration)) {
-            redisService.addTokenToBlacklist(token, expiration.getTime() - now.getTime());
+        long remaining = getRemainingValidity(token);
+        // 아직 유효한 토큰만 남은 유효시간 동안 블랙리스트에 등록
+        if (remaining > 0) {
+            redisService.addTokenToBlacklist(token, remaining);
+        }
+    }
+
+    // 토큰의 남은 유효시간 (ms), 이미 만료된 토큰은 0
+    public long getRemainingValidity(String token) {
+        try {
+            return Math.max(getClaims(token).getExpiration().getTime() - System.currentTimeMillis(), 0);
+        } catch (ExpiredJwtException e) {
+            return 0;
         }
     }
 
     // 토큰의 유효성 + 만료일자 확인
     public boolean validateToken(String jwtToken) {
         try {
-            Key key = Keys.hmacShaKeyFor(secretKey.getBytes());
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(jwtToken);
-
-            return !claims.getBody().getExpiration().before(new Date());
+            return !getClaims(jwtToken).getExpiration().before(new Date());
         } catch (MalformedJwtException e) {
             throw new InvalidTokenException("4001", ErrorCode.INVALID_TOKEN_EXCEPTION);
         } catch (ExpiredJwtException e) {
@@ -167,4 +259,23 @@ public class JwtTokenProvider {
     public void setHeaderRefreshToken(HttpServletResponse response, String refreshToken) {
         response.setHeader("refreshToken", "Bearer "+ refreshToken);
     }
+
+    // 캐시 항목은 토큰 만료 시각에 맞춰 제거
+    private static class ExpireAtTokenExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.meonghae.userservice.repository;
+
+import com.meonghae.userservice.entity.AccountPurge;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountPurgeRepository extends JpaRepository<AccountPurge, Long> {
+
+    Optional<AccountPurge> findByEmail(String email);
+
+    // id 순으로 이어서 조회 (이번 실행에서 실패한 행을 다시 읽지 않도록)
+    List<AccountPurge> findByAttemptsLessThanAndIdGreaterThanOrderByIdAsc(int maxAttempts, Long id, Pageable pageable);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
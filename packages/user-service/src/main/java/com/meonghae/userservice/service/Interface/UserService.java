@@ -5,6 +5,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.List;
 
 public interface UserService {
 
@@ -14,6 +15,8 @@ public interface UserService {
 
     String sendNickname(String email);
 
+    List<UserProfileDto> sendProfiles(List<String> emails);
+
     FCMResponseDto sendFCMToken(String email);
 
     UserMyPageDto viewMyPage(HttpServletRequest request);
@@ -1,58 +1,117 @@
 package com.meonghae.userservice.service.Jwt;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+// 세션 저장 구조 (게이트웨이 RedisService 와 공유)
+//   session:{email}          hash  androidId, accessToken, refreshDigest, accessDigest, accessExpiresAt
+//   refresh:{refresh digest} hash  email, androidId
+//   {access token}           블랙리스트, 값 "true"
+// 로그인 / 재발급 / 로그아웃은 각각 스크립트 한 번으로 처리한다.
 @Service
 @RequiredArgsConstructor
 public class RedisService {
 
-    private final RedisTemplate redisTemplate;
+    // 게이트웨이가 블랙리스트 필터를 동기화할 때 사용하는 인덱스와 채널
+    public static final String BLACKLIST_INDEX_KEY = "blacklist:index";
+    public static final String BLACKLIST_CHANNEL = "token-blacklist";
 
-    // RefreshToken, email 설정
-    public void setValues(String token, String email, String androidId) {
-        ValueOperations<String, Object> operations = redisTemplate.opsForValue();
-        Map<String, String> map = new HashMap<>();
-        map.put("email", email);
-        map.put("androidId", androidId);
-        operations.set(token, map, Duration.ofDays(7)); // 7일 뒤 메모리에서 삭제됨
-    }
+    public static final String SESSION_KEY_PREFIX = "session:";
+    public static final String REFRESH_KEY_PREFIX = "refresh:";
 
-    // RefreshToken, Android-Id 설정
-    public void setValues(String email, String androidId, String accessToken, String refreshToken) {
-        ValueOperations<String, Object> operations = redisTemplate.opsForValue();
-        Map<String, String> map = new HashMap<>();
-        map.put("androidId", androidId);
-        map.put("accessToken", accessToken);
-        map.put("refreshToken", refreshToken);
-        operations.set(email, map, Duration.ofDays(7)); // 7일 뒤 메모리에서 삭제됨
-    }
+    private static final Duration SESSION_TTL = Duration.ofDays(7); // 7일 뒤 메모리에서 삭제됨
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SESSION_OPEN_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/session-open.lua"), List.class);
+    private static final RedisScript<Long> SESSION_CLOSE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/session-close.lua"), Long.class);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final StringRedisTemplate stringRedisTemplate;
 
-    // 키값으로 벨류 가져오기
-    public Map<String, String> getValues(String token) {
-        ValueOperations<String, Object> operations = redisTemplate.opsForValue();
-        Object object = operations.get(token);
-        if (object != null && object instanceof Map) {
-            return (Map<String, String>) object;
+    // 세션 생성 (이전 세션과 refresh 토큰은 삭제), 이전 세션이 없으면 null.
+    // expirePrevious 면 이전 세션의 AccessToken 을 같은 스크립트 안에서 남은 유효시간 동안 블랙리스트에 등록한다
+    public PreviousSession openSession(String email, String androidId, String accessToken, long accessExpiresAt,
+                                       String refreshToken, boolean expirePrevious) {
+        String refreshDigest = tokenDigest(refreshToken);
+        List<?> result = stringRedisTemplate.execute(SESSION_OPEN_SCRIPT,
+                List.of(SESSION_KEY_PREFIX + email, REFRESH_KEY_PREFIX + refreshDigest, email, BLACKLIST_INDEX_KEY),
+                email, androidId == null ? "" : androidId, accessToken, refreshDigest,
+                Long.toString(SESSION_TTL.getSeconds()), tokenDigest(accessToken), Long.toString(accessExpiresAt),
+                Long.toString(System.currentTimeMillis()), BLACKLIST_CHANNEL, expirePrevious ? "1" : "0");
+        if (result == null || result.isEmpty() || result.get(0) == null) {
+            return null;
         }
-        return null;
+        return new PreviousSession((String) result.get(0),
+                result.size() > 1 && Long.valueOf(1).equals(result.get(1)));
+    }
+
+    // 세션 삭제 + 남은 유효시간 동안 AccessToken 블랙리스트 등록
+    public void closeSession(String email, String accessToken, long expiration) {
+        long now = System.currentTimeMillis();
+        stringRedisTemplate.execute(SESSION_CLOSE_SCRIPT,
+                List.of(SESSION_KEY_PREFIX + email, email, accessToken, BLACKLIST_INDEX_KEY),
+                Long.toString(Math.max(expiration, 0)), tokenDigest(accessToken),
+                Long.toString(now), Long.toString(now + expiration), BLACKLIST_CHANNEL);
     }
 
     public void addTokenToBlacklist(String token, long expiration) {
-        ValueOperations<String, Object> valueOperations = redisTemplate.opsForValue();
-        valueOperations.set(token, true, expiration, TimeUnit.MILLISECONDS);
+        long now = System.currentTimeMillis();
+        String digest = tokenDigest(token);
+        // 블랙리스트 키, 게이트웨이 필터용 인덱스 (digest, 만료 시각), 변경 알림을 한 번에 보낸다
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, String> redis = operations;
+                redis.opsForValue().set(token, "true", expiration, TimeUnit.MILLISECONDS);
+                redis.opsForZSet().add(BLACKLIST_INDEX_KEY, digest, now + expiration);
+                redis.opsForZSet().removeRangeByScore(BLACKLIST_INDEX_KEY, 0, now);
+                redis.convertAndSend(BLACKLIST_CHANNEL, digest);
+                return null;
+            }
+        });
     }
 
-    // RefreshToken, Android-Id 삭제
-    public void delValues(String token, String email) {
-        redisTemplate.delete(token);
-        redisTemplate.delete(email);
+    // 교체된 이전 세션. blacklisted 가 false 면 (만료 시각을 저장하기 전에 만든 세션) 호출한 쪽에서 블랙리스트에 등록한다
+    @Getter
+    @RequiredArgsConstructor
+    public static class PreviousSession {
+        private final String accessToken;
+        private final boolean blacklisted;
+    }
+
+    // SHA-256 앞 128bit 의 hex, 게이트웨이 TokenDigest 와 같은 값
+    public static String tokenDigest(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        char[] hex = new char[32];
+        for (int i = 0; i < 16; i++) {
+            hex[i * 2] = HEX[(hash[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[hash[i] & 0xf];
+        }
+        return new String(hex);
     }
 }
@@ -0,0 +1,18 @@
+package com.meonghae.userservice.service.Jwt;
+
+import com.meonghae.userservice.entity.User;
+import com.meonghae.userservice.enums.UserRole;
+import lombok.Getter;
+
+// 인증에 필요한 회원 상태만 담은 캐시 항목
+@Getter
+public class UserState {
+
+    private final UserRole userRole;
+    private final boolean deleted;
+
+    public UserState(User user) {
+        this.userRole = user.getUserRole();
+        this.deleted = user.isDeleted();
+    }
+}
@@ -0,0 +1,95 @@
+package com.meonghae.userservice.service.Jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meonghae.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// email -> 권한, 탈퇴 여부 캐시.
+// 요청마다 회원을 조회하지 않도록 짧은 TTL 동안 보관하고, 탈퇴 / 탈퇴 취소 / 권한 변경 / 삭제 시에는
+// 커밋 후 모든 user-service 인스턴스에 무효화를 알린다 (Redis pub/sub, 유실되어도 TTL 안에 반영).
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStateCache implements MessageListener {
+
+    public static final String INVALIDATE_CHANNEL = "user-state-invalidate";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-state-cache.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${user-state-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    private Cache<String, UserState> cache;
+
+    @PostConstruct
+    protected void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.state");
+    }
+
+    // 없는 회원이면 null (캐시하지 않는다)
+    public UserState get(String email) {
+        UserState state = cache.getIfPresent(email);
+        if (state != null) {
+            return state;
+        }
+        state = userRepository.findByEmail(email).map(UserState::new).orElse(null);
+        if (state != null) {
+            cache.put(email, state);
+        }
+        return state;
+    }
+
+    // 트랜잭션 안이면 커밋 후, 아니면 바로 무효화
+    public void invalidateAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(email);
+            }
+        });
+    }
+
+    private void invalidate(String email) {
+        cache.invalidate(email);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, email);
+        } catch (Exception e) {
+            log.warn("User state invalidation publish failed : {}", e.getMessage());
+        }
+    }
+
+    // 다른 인스턴스(자신 포함)의 무효화 알림
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cache.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
@@ -1,15 +1,31 @@
 package com.meonghae.userservice.service;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.meonghae.userservice.dto.KakaoDto.KakaoTokenResponse;
+import com.meonghae.userservice.dto.KakaoDto.KakaoUserResponse;
+import com.meonghae.userservice.error.ErrorCode;
+import com.meonghae.userservice.error.exception.KakaoApiException;
+import com.meonghae.userservice.error.exception.UnAuthorizedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+// Kakao OAuth 호출. 응답은 스트리밍으로 DTO 에 바로 디코딩하고, 호출마다 지연 시간을 kakao.client.requests 로 기록한다.
+// Mono 를 반환하는 메서드는 컨트롤러에서 그대로 반환하면 Tomcat 스레드를 점유하지 않는다.
 @Service
 @RequiredArgsConstructor
 public class KakaoApi {
@@ -20,54 +36,133 @@ public class KakaoApi {
     @Value("${spring.security.oauth2.client.registration.kakao.redirect-uri}")
     private String kakaoRedirectUri;
 
-    private final RestTemplate restTemplate;
+    // 로컬 부하 테스트 시 KakaoStubServer 주소로 바꾼다
+    @Value("${kakao.auth-base-url:https://kauth.kakao.com}")
+    private String authBaseUrl;
 
-    public String getAccessToken(String authorize_code) {
-        String access_Token = "";
-        String reqURL = "https://kauth.kakao.com/oauth/token";
+    @Value("${kakao.api-base-url:https://kapi.kakao.com}")
+    private String apiBaseUrl;
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+    // 최초 요청 이후 재시도 횟수
+    @Value("${kakao.client.max-retries:2}")
+    private int maxRetries;
 
-        MultiValueMap<String, String> parameters = new LinkedMultiValueMap<>();
-        parameters.add("grant_type", "authorization_code");
-        parameters.add("client_id", kakaoClientId);
-        parameters.add("redirect_uri", kakaoRedirectUri);
-        parameters.add("code", authorize_code);
+    @Value("${kakao.client.retry-backoff:100ms}")
+    private Duration retryBackoff;
 
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(parameters, headers);
+    private final WebClient kakaoWebClient;
+    private final MeterRegistry meterRegistry;
 
-        ResponseEntity<String> responseEntity = restTemplate.postForEntity(reqURL, request, String.class);
+    public String getAccessToken(String authorize_code) {
+        return requestAccessToken(authorize_code).block();
+    }
 
-        if (responseEntity.getStatusCode() == HttpStatus.OK) {
-            JsonObject jsonObject = JsonParser.parseString(responseEntity.getBody()).getAsJsonObject();
-            access_Token = jsonObject.get("access_token").getAsString();
-        } else {
-            throw new RuntimeException("Failed to get access token from Kakao API!");
-        }
+    public String getUserInfo(String accessToken) {
+        return requestUserEmail(accessToken).block();
+    }
 
-        return access_Token;
+    public Mono<String> requestAccessToken(String authorizeCode) {
+        Mono<String> call = kakaoWebClient.post()
+                .uri(authBaseUrl + "/oauth/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("grant_type", "authorization_code")
+                        .with("client_id", kakaoClientId)
+                        .with("redirect_uri", kakaoRedirectUri)
+                        .with("code", authorizeCode))
+                .retrieve()
+                .bodyToMono(KakaoTokenResponse.class)
+                .map(response -> {
+                    if (response.getAccessToken() == null) {
+                        throw new KakaoApiException("Kakao token response has no access_token", ErrorCode.KAKAO_API_EXCEPTION);
+                    }
+                    return response.getAccessToken();
+                });
+        // 인가 코드는 한 번만 쓸 수 있으므로 요청이 전달되지 않은 연결 실패만 재시도
+        return measure("token", call, KakaoApi::isConnectFailure);
     }
 
-    public String getUserInfo(String accessToken) {
-        String reqURL = "https://kapi.kakao.com/v2/user/me";
-        String email;
+    public Mono<String> requestUserEmail(String accessToken) {
+        Mono<String> call = kakaoWebClient.get()
+                .uri(apiBaseUrl + "/v2/user/me")
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .bodyToMono(KakaoUserResponse.class)
+                .map(response -> {
+                    if (response.getKakaoAccount() == null || response.getKakaoAccount().getEmail() == null) {
+                        throw new UnAuthorizedException("Kakao account has no email", ErrorCode.ACCESS_DENIED_EXCEPTION);
+                    }
+                    return response.getKakaoAccount().getEmail();
+                });
+        // 조회는 멱등하므로 연결 실패, 타임아웃, 5xx 모두 재시도
+        return measure("user-info", call, KakaoApi::isTransientFailure);
+    }
+
+    private <T> Mono<T> measure(String call, Mono<T> request, Predicate<Throwable> retryable) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return request
+                    .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                            .filter(retryable)
+                            .doBeforeRetry(signal -> Counter.builder("kakao.client.retries")
+                                    .description("Retried Kakao OAuth calls")
+                                    .tag("call", call)
+                                    .register(meterRegistry)
+                                    .increment())
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnSuccess(result -> stop(sample, call, "success"))
+                    .doOnError(error -> stop(sample, call, outcome(error)))
+                    .onErrorMap(KakaoApi::translate);
+        });
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(accessToken);
+    private void stop(Timer.Sample sample, String call, String outcome) {
+        sample.stop(Timer.builder("kakao.client.requests")
+                .description("Kakao OAuth calls including retries")
+                .tag("call", call)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
 
-        HttpEntity request = new HttpEntity(headers);
+    private static String outcome(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getStatusCode().is4xxClientError() ? "client-error" : "server-error";
+        }
+        // 응답 대기(netty ReadTimeoutException) 또는 커넥션 풀 대기(PoolAcquireTimeoutException) 초과
+        if (hasCause(error, io.netty.handler.timeout.TimeoutException.class) || hasCause(error, TimeoutException.class)) {
+            return "timeout";
+        }
+        return "error";
+    }
 
-        ResponseEntity<String> responseEntity = restTemplate.exchange(reqURL, HttpMethod.GET, request, String.class);
+    // 4xx 는 잘못된 인가 코드 / 토큰, 나머지는 Kakao 장애
+    private static Throwable translate(Throwable error) {
+        if (error instanceof KakaoApiException || error instanceof UnAuthorizedException) {
+            return error;
+        }
+        if (error instanceof WebClientResponseException
+                && ((WebClientResponseException) error).getStatusCode().is4xxClientError()) {
+            return new UnAuthorizedException("Kakao rejected the request", ErrorCode.ACCESS_DENIED_EXCEPTION);
+        }
+        return new KakaoApiException("Kakao API call failed : " + error.getMessage(), ErrorCode.KAKAO_API_EXCEPTION);
+    }
+
+    private static boolean isConnectFailure(Throwable error) {
+        return error instanceof WebClientRequestException && hasCause(error, ConnectException.class);
+    }
 
-        if (responseEntity.getStatusCode() == HttpStatus.OK) {
-            JsonObject jsonObject = JsonParser.parseString(responseEntity.getBody()).getAsJsonObject();
-            JsonObject kakaoAccount = jsonObject.getAsJsonObject("kakao_account");
-            email = kakaoAccount.getAsJsonObject().get("email").getAsString();
-        } else {
-            throw new RuntimeException("Failed to get user info from Kakao API!");
+    private static boolean isTransientFailure(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getStatusCode().is5xxServerError();
         }
+        return error instanceof WebClientRequestException;
+    }
 
-        return email;
+    private static boolean hasCause(Throwable error, Class<? extends Throwable> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,102 @@
+package com.meonghae.userservice.service.Outbox;
+
+import com.meonghae.userservice.entity.OutboxEvent;
+import com.meonghae.userservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// outbox 에 쌓인 회원 이벤트를 RabbitMQ 로 전달한다.
+// 배치마다 broker 확인(publisher confirm)을 받은 뒤에만 발행 완료로 표시하므로 최소 한 번 전달되고,
+// 메시지 id(outbox id)가 이벤트 순서이므로 소비자는 이미 처리한 것보다 작은 id 를 무시하면 된다.
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final Counter publishedEvents;
+    private final Counter failedEvents;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout:5000}")
+    private long confirmTimeout;
+
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, RabbitTemplate rabbitTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.publishedEvents = eventCounter(meterRegistry, "published");
+        this.failedEvents = eventCounter(meterRegistry, "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:1000}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> events = outboxEventRepository.findByPublishedAtIsNullAndNextAttemptAtBeforeOrderByIdAsc(
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxEvent event : events) {
+                    operations.send(event.getEventType().getRoutingKey(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeout);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, {} events will be retried : {}", events.size(), e.getMessage());
+            events.forEach(OutboxEvent::failed);
+            failedEvents.increment(events.size());
+            return;
+        }
+        events.forEach(OutboxEvent::published);
+        publishedEvents.increment(events.size());
+    }
+
+    // 발행이 끝난 이벤트 정리 (매일 새벽 1시)
+    @Scheduled(cron = "0 0 1 * * *")
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Outbox purge : {} published events deleted", deleted);
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getId().toString())
+                .setType(event.getEventType().getTitle())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("outbox.relay.events")
+                .description("User events relayed from the outbox to RabbitMQ")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
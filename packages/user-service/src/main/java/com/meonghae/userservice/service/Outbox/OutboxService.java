@@ -0,0 +1,38 @@
+package com.meonghae.userservice.service.Outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meonghae.userservice.entity.OutboxEvent;
+import com.meonghae.userservice.enums.UserEventType;
+import com.meonghae.userservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// 회원 이벤트를 호출한 쪽의 트랜잭션 안에서 outbox 에 기록한다 (전달은 OutboxRelay)
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserEventType eventType, String email, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox event serialization failed : " + eventType, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .email(email)
+                .payload(payload)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+}
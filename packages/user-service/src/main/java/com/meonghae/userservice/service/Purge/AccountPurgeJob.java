@@ -0,0 +1,187 @@
+package com.meonghae.userservice.service.Purge;
+
+import com.meonghae.userservice.client.PetServiceClient;
+import com.meonghae.userservice.client.S3ServiceClient;
+import com.meonghae.userservice.dto.S3Dto.S3RequestDto;
+import com.meonghae.userservice.entity.AccountPurge;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 탈퇴 유예 기간이 지난 회원 삭제.
+// 1. 회원 행을 chunk 단위로 지우면서 같은 트랜잭션에 체크포인트(AccountPurge)를 남긴다
+// 2. 체크포인트를 chunk 단위로 읽어 S3 / Pet 서비스 정리를 최대 parallelism 명씩 동시에 호출하고, 끝난 단계를 기록한다
+// 중간에 멈추더라도 다음 실행에서 남은 체크포인트부터 이어서 정리한다. Redis 락으로 한 인스턴스에서만 실행된다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountPurgeJob {
+
+    private static final String LOCK_KEY = "user-purge:lock";
+    // 락을 잡은 실행만 연장 / 해제할 수 있다
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final AccountPurgeService accountPurgeService;
+    private final S3ServiceClient s3Service;
+    private final PetServiceClient petService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong abandoned = new AtomicLong();
+
+    @Value("${purge.retention:7d}")
+    private Duration retention;
+    @Value("${purge.chunk-size:100}")
+    private int chunkSize;
+    @Value("${purge.parallelism:8}")
+    private int parallelism;
+    // 이 횟수만큼 실패한 체크포인트는 더 이상 시도하지 않는다 (user.purge.abandoned)
+    @Value("${purge.max-attempts:10}")
+    private int maxAttempts;
+    @Value("${purge.lock-ttl:10m}")
+    private Duration lockTtl;
+
+    private ExecutorService executor;
+    private Timer runTimer;
+
+    @PostConstruct
+    protected void init() {
+        executor = Executors.newFixedThreadPool(parallelism);
+        runTimer = Timer.builder("user.purge.run")
+                .description("Duration of an account purge run")
+                .register(meterRegistry);
+        Gauge.builder("user.purge.abandoned", abandoned, AtomicLong::get)
+                .description("Purge checkpoints that exhausted their attempts and need manual cleanup")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void run() {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, lockTtl);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("Account purge skipped, another instance holds the lock");
+            return;
+        }
+        try {
+            runTimer.record(() -> purge(owner));
+            abandoned.set(accountPurgeService.countAbandoned(maxAttempts));
+        } finally {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_KEY), owner);
+        }
+    }
+
+    private void purge(String owner) {
+        // 1. 회원 삭제 + 체크포인트
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted;
+        do {
+            deleted = accountPurgeService.deleteChunk(cutoff, chunkSize);
+            count("deleted", deleted);
+            if (!renew(owner)) {
+                return;
+            }
+        } while (deleted == chunkSize);
+
+        // 2. 다른 서비스 정리 (이전 실행에서 남은 체크포인트 포함)
+        long lastId = 0;
+        List<AccountPurge> pending;
+        do {
+            pending = accountPurgeService.findPending(lastId, maxAttempts, chunkSize);
+            List<CompletableFuture<Void>> cleanups = new ArrayList<>(pending.size());
+            for (AccountPurge purge : pending) {
+                cleanups.add(CompletableFuture.runAsync(() -> cleanUp(purge), executor));
+                lastId = purge.getId();
+            }
+            CompletableFuture.allOf(cleanups.toArray(new CompletableFuture[0])).join();
+            if (!renew(owner)) {
+                return;
+            }
+        } while (pending.size() == chunkSize);
+    }
+
+    // 이미 끝난 단계는 건너뛰고, 각 단계 결과를 체크포인트에 기록
+    private void cleanUp(AccountPurge purge) {
+        String email = purge.getEmail();
+        StringBuilder errors = new StringBuilder();
+        boolean s3Cleaned = purge.isS3Cleaned()
+                || call("s3", () -> s3Service.deleteFileForUser(new S3RequestDto(email, "USER")), errors);
+        boolean petCleaned = purge.isPetCleaned()
+                || call("pet", () -> petService.deletedByUserEmail(email), errors);
+        try {
+            boolean completed = accountPurgeService.checkpoint(purge.getId(), s3Cleaned, petCleaned,
+                    errors.length() == 0 ? null : errors.toString());
+            count(completed ? "cleaned" : "failed", 1);
+        } catch (RuntimeException e) {
+            log.warn("Account purge checkpoint failed : {}", e.getMessage());
+            count("failed", 1);
+        }
+    }
+
+    private boolean call(String target, Runnable cleanup, StringBuilder errors) {
+        try {
+            cleanup.run();
+            countCleanup(target, "success");
+            return true;
+        } catch (RuntimeException e) {
+            errors.append(target).append(": ").append(e.getMessage()).append(' ');
+            countCleanup(target, "failure");
+            return false;
+        }
+    }
+
+    // 락을 잃었으면 (TTL 초과 등) 다른 인스턴스와 겹치지 않도록 중단
+    private boolean renew(String owner) {
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(LOCK_KEY), owner,
+                Long.toString(lockTtl.toMillis()));
+        if (renewed == null || renewed == 0L) {
+            log.warn("Account purge lock lost, stopping this run");
+            return false;
+        }
+        return true;
+    }
+
+    private void count(String outcome, int amount) {
+        Counter.builder("user.purge.accounts")
+                .description("Accounts processed by the purge job")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    private void countCleanup(String target, String outcome) {
+        Counter.builder("user.purge.cleanup")
+                .description("Downstream cleanup calls made by the purge job")
+                .tag("target", target)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
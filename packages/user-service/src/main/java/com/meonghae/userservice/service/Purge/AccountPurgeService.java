@@ -0,0 +1,76 @@
+package com.meonghae.userservice.service.Purge;
+
+import com.meonghae.userservice.dto.EventDto.UserDeletedEvent;
+import com.meonghae.userservice.entity.AccountPurge;
+import com.meonghae.userservice.entity.User;
+import com.meonghae.userservice.enums.UserEventType;
+import com.meonghae.userservice.repository.AccountPurgeRepository;
+import com.meonghae.userservice.repository.UserRepository;
+import com.meonghae.userservice.service.Jwt.UserStateCache;
+import com.meonghae.userservice.service.Outbox.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 회원 삭제 작업의 트랜잭션 단위 (AccountPurgeJob 이 호출)
+@Service
+@RequiredArgsConstructor
+public class AccountPurgeService {
+
+    private final UserRepository userRepository;
+    private final AccountPurgeRepository accountPurgeRepository;
+    private final UserStateCache userStateCache;
+    private final OutboxService outboxService;
+
+    // 탈퇴 후 유예 기간이 지난 회원을 chunkSize 명까지 삭제하고, 같은 트랜잭션에 정리할 체크포인트를 남긴다
+    @Transactional
+    public int deleteChunk(LocalDateTime cutoff, int chunkSize) {
+        List<User> users = userRepository.findByDeletedIsTrueAndModifiedDateBefore(cutoff, PageRequest.of(0, chunkSize));
+        for (User user : users) {
+            AccountPurge purge = accountPurgeRepository.findByEmail(user.getEmail()).orElse(null);
+            if (purge == null) {
+                accountPurgeRepository.save(AccountPurge.builder().email(user.getEmail()).build());
+            } else {
+                purge.reopen();
+            }
+            userStateCache.invalidateAfterCommit(user.getEmail());
+            outboxService.record(UserEventType.USER_DELETED, user.getEmail(), UserDeletedEvent.builder()
+                    .email(user.getEmail())
+                    .purged(true)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        }
+        userRepository.deleteAll(users);
+        return users.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountPurge> findPending(long afterId, int maxAttempts, int chunkSize) {
+        return accountPurgeRepository.findByAttemptsLessThanAndIdGreaterThanOrderByIdAsc(
+                maxAttempts, afterId, PageRequest.of(0, chunkSize));
+    }
+
+    // 끝난 단계를 기록하고, 모두 끝났으면 체크포인트 삭제. 완료 여부 반환
+    @Transactional
+    public boolean checkpoint(Long id, boolean s3Cleaned, boolean petCleaned, String error) {
+        AccountPurge purge = accountPurgeRepository.findById(id).orElse(null);
+        if (purge == null) {
+            return true;
+        }
+        purge.checkpoint(s3Cleaned, petCleaned, error);
+        if (purge.isCompleted()) {
+            accountPurgeRepository.delete(purge);
+            return true;
+        }
+        return false;
+    }
+
+    @Transactional(readOnly = true)
+    public long countAbandoned(int maxAttempts) {
+        return accountPurgeRepository.countByAttemptsGreaterThanEqual(maxAttempts);
+    }
+}
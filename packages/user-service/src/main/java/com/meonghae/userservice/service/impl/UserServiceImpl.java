@@ -1,20 +1,26 @@
 package com.meonghae.userservice.service.impl;
 
-import com.meonghae.userservice.client.PetServiceClient;
 import com.meonghae.userservice.client.S3ServiceClient;
 import com.meonghae.userservice.dto.*;
+import com.meonghae.userservice.dto.EventDto.FcmTokenChangedEvent;
+import com.meonghae.userservice.dto.EventDto.UserDeletedEvent;
+import com.meonghae.userservice.dto.EventDto.UserUpdatedEvent;
 import com.meonghae.userservice.dto.S3Dto.S3RequestDto;
 import com.meonghae.userservice.dto.S3Dto.S3ResponseDto;
 import com.meonghae.userservice.dto.S3Dto.S3UpdateDto;
 import com.meonghae.userservice.entity.FCMToken;
 import com.meonghae.userservice.entity.User;
+import com.meonghae.userservice.enums.UserEventType;
 import com.meonghae.userservice.enums.UserRole;
 import com.meonghae.userservice.error.ErrorCode;
+import com.meonghae.userservice.error.exception.BadRequestException;
 import com.meonghae.userservice.error.exception.UnAuthorizedException;
 import com.meonghae.userservice.jwt.JwtTokenProvider;
 import com.meonghae.userservice.repository.FCMTokenRepository;
 import com.meonghae.userservice.repository.UserRepository;
 import com.meonghae.userservice.service.Jwt.RedisService;
+import com.meonghae.userservice.service.Jwt.UserStateCache;
+import com.meonghae.userservice.service.Outbox.OutboxService;
 import com.meonghae.userservice.service.Interface.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -25,11 +31,15 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.meonghae.userservice.error.ErrorCode.*;
 
@@ -38,12 +48,16 @@ import static com.meonghae.userservice.error.ErrorCode.*;
 @Service
 public class UserServiceImpl implements UserService {
 
+    // 한 번에 조회할 수 있는 프로필 수 (커뮤니티 한 페이지는 최대 20건)
+    private static final int MAX_PROFILE_LOOKUP = 100;
+
     private final UserRepository userRepository;
     private final FCMTokenRepository fcmTokenRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final RedisService redisService;
     private final S3ServiceClient s3Service;
-    private final PetServiceClient petServiceClient;
+    private final OutboxService outboxService;
+    private final UserStateCache userStateCache;
 
     @Override
     public UserResponseDto login(String email, HttpServletRequest request, HttpServletResponse response) {
@@ -76,6 +90,37 @@ public class UserServiceImpl implements UserService {
         return userOptional.map(User::getNickname).orElse(null);
     }
 
+    // 닉네임, 탈퇴 여부, 프로필 사진을 한 번의 조회와 한 번의 s3 호출로 묶어서 반환 (요청한 email 순서대로)
+    @Override
+    public List<UserProfileDto> sendProfiles(List<String> emails) {
+        List<String> distinct = emails.stream().distinct().collect(Collectors.toList());
+        if (distinct.size() > MAX_PROFILE_LOOKUP) {
+            throw new BadRequestException("Too many emails", RUNTIME_EXCEPTION);
+        }
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, User> users = userRepository.findByEmailIn(distinct).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+        Map<String, String> images = new HashMap<>();
+        List<S3ResponseDto> files = s3Service.viewUserFiles(distinct);
+        if (files != null) {
+            files.forEach(file -> images.put(file.getEmail(), file.getFileUrl()));
+        }
+
+        List<UserProfileDto> profiles = new ArrayList<>(distinct.size());
+        for (String email : distinct) {
+            User user = users.get(email);
+            profiles.add(UserProfileDto.builder()
+                    .email(email)
+                    .nickname(user == null ? null : user.getNickname())
+                    .deleted(user == null || user.isDeleted())
+                    .profileImageUrl(images.get(email))
+                    .build());
+        }
+        return profiles;
+    }
+
     @Override
     public FCMResponseDto sendFCMToken(String email) {
         FCMToken fcmToken = fcmTokenRepository.findByEmail(email);
@@ -164,13 +209,21 @@ public class UserServiceImpl implements UserService {
         }
 
         user.update(userDto, birth);
+
+        // 닉네임 / 프로필 사진을 캐시한 서비스에 변경 알림
+        outboxService.record(UserEventType.USER_UPDATED, email, UserUpdatedEvent.builder()
+                .email(email)
+                .nickname(user.getNickname())
+                .profileImageChanged(userDto.getFile() != null)
+                .occurredAt(LocalDateTime.now())
+                .build());
     }
 
     @Override
     public void logout(HttpServletRequest request) {
-        String email = this.findByEmailFromAccessToken(request);
-        redisService.delValues(jwtTokenProvider.resolveRefreshToken(request), email);
-        jwtTokenProvider.expireToken(jwtTokenProvider.resolveAccessToken(request));
+        String accessToken = jwtTokenProvider.resolveAccessToken(request);
+        String email = jwtTokenProvider.getUserEmail(accessToken);
+        redisService.closeSession(email, accessToken, jwtTokenProvider.getRemainingValidity(accessToken));
         fcmTokenRepository.deleteByEmail(email);
     }
 
@@ -180,6 +233,12 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(email).orElseThrow();
 
         user.setDeleted(true);
+        userStateCache.invalidateAfterCommit(email);
+        outboxService.record(UserEventType.USER_DELETED, email, UserDeletedEvent.builder()
+                .email(email)
+                .purged(false)
+                .occurredAt(LocalDateTime.now())
+                .build());
         this.logout(request);
     }
 
@@ -191,6 +250,13 @@ public class UserServiceImpl implements UserService {
             });
 
             user.setDeleted(false);
+            userStateCache.invalidateAfterCommit(email);
+            outboxService.record(UserEventType.USER_UPDATED, email, UserUpdatedEvent.builder()
+                    .email(email)
+                    .nickname(user.getNickname())
+                    .profileImageChanged(false)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
 
         } else {
             throw new UnAuthorizedException("401_NOT_ALLOW", NOT_ALLOW_WRITE_EXCEPTION);
@@ -211,18 +277,19 @@ public class UserServiceImpl implements UserService {
         String newAccessToken = jwtTokenProvider.createAccessToken(email, user.getUserRole(), androidId);
         String newRefreshToken = jwtTokenProvider.createRefreshToken(email, user.getUserRole(), androidId);
 
-        // Redis에서 기존 리프레시 토큰과 Android-Id를 삭제한다.
-        redisService.delValues(refreshToken, email);
-
-        // Redis에 새로운 리프레시 토큰과 Android-Id를 저장한다.
-        redisService.setValues(newRefreshToken, email, androidId);
-        redisService.setValues(email, androidId, newAccessToken, newRefreshToken);
+        // Redis에서 기존 리프레시 토큰을 삭제하고 새로운 리프레시 토큰과 Android-Id를 저장한다.
+        redisService.openSession(email, androidId, newAccessToken, accessExpiresAt(newAccessToken), newRefreshToken,
+                false);
 
         // 헤더에 토큰들을 넣는다.
         jwtTokenProvider.setHeaderAccessToken(response, newAccessToken);
         jwtTokenProvider.setHeaderRefreshToken(response, newRefreshToken);
     }
 
+    private long accessExpiresAt(String accessToken) {
+        return jwtTokenProvider.getClaims(accessToken).getExpiration().getTime();
+    }
+
     private String findByEmailFromAccessToken(HttpServletRequest request) {
         return jwtTokenProvider.getUserEmail(jwtTokenProvider.resolveAccessToken(request));
     }
@@ -231,14 +298,19 @@ public class UserServiceImpl implements UserService {
         String androidId = request.getHeader("androidId");
         String fcm = request.getHeader("FCMToken");
 
-        Map<String, String> refreshTokenData = redisService.getValues(email);
+        // 토큰 발급
+        String accessToken = jwtTokenProvider.createAccessToken(email, userRole, androidId);
+        String refreshToken = jwtTokenProvider.createRefreshToken(email, userRole, androidId);
 
-        if (refreshTokenData != null) { // 중복 로그인 시 먼저 로그인 한 기기의 토큰 정보 삭제 (로그아웃)
-            String existingRefreshToken = refreshTokenData.get("refreshToken");
-            redisService.delValues(existingRefreshToken, email);
-            jwtTokenProvider.expireToken(refreshTokenData.get("accessToken"));
+        // redis에 토큰 정보 저장, 중복 로그인 시 먼저 로그인 한 기기의 세션은 삭제되고 AccessToken 은 블랙리스트에 등록된다
+        RedisService.PreviousSession previous = redisService.openSession(email, androidId, accessToken,
+                accessExpiresAt(accessToken), refreshToken, true);
+
+        if (previous != null) { // 먼저 로그인 한 기기 로그아웃
+            if (!previous.isBlacklisted()) {
+                jwtTokenProvider.expireToken(previous.getAccessToken());
+            }
             fcmTokenRepository.deleteByEmail(email);    // 기존 토큰 정보 삭제
-            petServiceClient.getReviseFcmToken(email, fcm); // Pet 서비스로 새 FCM 토큰 정보 전달
         }
 
         FCMToken fcmToken = FCMToken.builder()  // FCM 토큰 저장 준비
@@ -248,16 +320,17 @@ public class UserServiceImpl implements UserService {
 
         fcmTokenRepository.save(fcmToken);      // 저장
 
-        // 토큰 발급
-        String accessToken = jwtTokenProvider.createAccessToken(email, userRole, androidId);
-        String refreshToken = jwtTokenProvider.createRefreshToken(email, userRole, androidId);
+        // Pet 서비스로 새 FCM 토큰 정보 전달 (커밋 후 outbox relay 가 RabbitMQ 로 발행)
+        if (fcm != null) {
+            outboxService.record(UserEventType.FCM_TOKEN_CHANGED, email, FcmTokenChangedEvent.builder()
+                    .email(email)
+                    .fcmToken(fcm)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        }
 
         // 발급한 토큰을 헤더에 삽입
         jwtTokenProvider.setHeaderAccessToken(response, accessToken);
         jwtTokenProvider.setHeaderRefreshToken(response, refreshToken);
-
-        // redis에 토큰 정보 저장
-        redisService.setValues(refreshToken, email, androidId);
-        redisService.setValues(email, androidId, accessToken, refreshToken);
     }
 }
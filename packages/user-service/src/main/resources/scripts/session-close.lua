@@ -0,0 +1,27 @@
+-- 로그아웃 시 세션 삭제와 access 토큰 블랙리스트 등록을 한 번의 왕복으로 처리한다.
+-- KEYS[1] : session:{email}, KEYS[2] : 이전 형식의 세션 키 (email), KEYS[3] : access 토큰, KEYS[4] : 블랙리스트 인덱스
+-- ARGV[1] : 블랙리스트 유지 시간 (ms, 0 이면 등록하지 않음), ARGV[2] : access 토큰 digest,
+-- ARGV[3] : 현재 시각 (ms), ARGV[4] : 블랙리스트 만료 시각 (ms), ARGV[5] : 블랙리스트 변경 알림 채널
+local refreshDigest = redis.call('HGET', KEYS[1], 'refreshDigest')
+if refreshDigest then
+    redis.call('DEL', 'refresh:' .. refreshDigest)
+end
+redis.call('DEL', KEYS[1])
+
+-- 배포 전 JSON 형식으로 저장된 세션 정리
+local legacy = redis.call('GET', KEYS[2])
+if legacy then
+    local ok, session = pcall(cjson.decode, legacy)
+    if ok and type(session) == 'table' and type(session['refreshToken']) == 'string' then
+        redis.call('DEL', session['refreshToken'])
+    end
+    redis.call('DEL', KEYS[2])
+end
+
+if tonumber(ARGV[1]) > 0 then
+    redis.call('SET', KEYS[3], 'true', 'PX', ARGV[1])
+    redis.call('ZADD', KEYS[4], ARGV[4], ARGV[2])
+    redis.call('ZREMRANGEBYSCORE', KEYS[4], 0, ARGV[3])
+    redis.call('PUBLISH', ARGV[5], ARGV[2])
+end
+return 1
@@ -0,0 +1,50 @@
+-- 로그인 / 토큰 재발급 시 세션 교체를 한 번의 왕복으로 처리한다.
+-- KEYS[1] : session:{email}, KEYS[2] : refresh:{새 refresh 토큰 digest}, KEYS[3] : 이전 형식의 세션 키 (email),
+-- KEYS[4] : 블랙리스트 인덱스
+-- ARGV[1] : email, ARGV[2] : androidId, ARGV[3] : accessToken, ARGV[4] : 새 refresh 토큰 digest, ARGV[5] : TTL (초),
+-- ARGV[6] : accessToken digest, ARGV[7] : accessToken 만료 시각 (ms), ARGV[8] : 현재 시각 (ms),
+-- ARGV[9] : 블랙리스트 변경 알림 채널, ARGV[10] : '1' 이면 이전 세션의 accessToken 을 블랙리스트에 등록 (중복 로그인)
+-- return : { 이전 세션의 accessToken (없으면 nil), 블랙리스트 등록을 여기서 처리했으면 1 }
+-- 이전 refresh 키는 세션 hash 에 저장된 digest 로 찾는다 (단일 Redis 기준)
+local previous = redis.call('HMGET', KEYS[1], 'accessToken', 'refreshDigest', 'accessDigest', 'accessExpiresAt')
+local previousAccessToken = previous[1]
+if previous[2] then
+    redis.call('DEL', 'refresh:' .. previous[2])
+end
+
+-- 먼저 로그인 한 기기의 accessToken 은 남은 유효시간 동안 블랙리스트에 등록 (session-close.lua 와 같은 형식)
+-- 만료 시각이 없는 이전 버전의 세션은 호출한 쪽에서 토큰을 해석해 등록한다
+local blacklisted = 0
+if ARGV[10] == '1' and previousAccessToken and previous[3] and previous[4] then
+    local now = tonumber(ARGV[8])
+    local remaining = tonumber(previous[4]) - now
+    if remaining > 0 then
+        redis.call('SET', previousAccessToken, 'true', 'PX', remaining)
+        redis.call('ZADD', KEYS[4], previous[4], previous[3])
+        redis.call('ZREMRANGEBYSCORE', KEYS[4], 0, now)
+        redis.call('PUBLISH', ARGV[9], previous[3])
+    end
+    blacklisted = 1
+end
+
+-- 배포 전 JSON 형식으로 저장된 세션 정리 (refresh 토큰 유효기간이 지나면 제거)
+local legacy = redis.call('GET', KEYS[3])
+if legacy then
+    local ok, session = pcall(cjson.decode, legacy)
+    if ok and type(session) == 'table' then
+        if type(session['refreshToken']) == 'string' then
+            redis.call('DEL', session['refreshToken'])
+        end
+        if not previousAccessToken and type(session['accessToken']) == 'string' then
+            previousAccessToken = session['accessToken']
+        end
+    end
+    redis.call('DEL', KEYS[3])
+end
+
+redis.call('HSET', KEYS[1], 'androidId', ARGV[2], 'accessToken', ARGV[3], 'refreshDigest', ARGV[4],
+        'accessDigest', ARGV[6], 'accessExpiresAt', ARGV[7])
+redis.call('EXPIRE', KEYS[1], ARGV[5])
+redis.call('HSET', KEYS[2], 'email', ARGV[1], 'androidId', ARGV[2])
+redis.call('EXPIRE', KEYS[2], ARGV[5])
+return { previousAccessToken or false, blacklisted }